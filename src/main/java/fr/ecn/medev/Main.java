@@ -17,17 +17,24 @@ public class Main {
     private static final String FICHIER_DICTIONNAIRE = "dictionnaire.txt";
     private static final int ERREURS_PAR_DEFAUT = 6;
 
+    private static final String OPTION_COMPILER = "--compiler";
+
     /**
      * Methode principale
-     * @param args arguments de ligne de commande (non utilises)
+     * @param args "--compiler" pour precompiler le dictionnaire au format binaire, sinon aucun
      */
     public static void main(String[] args) {
+        if (args.length > 0 && OPTION_COMPILER.equals(args[0])) {
+            compilerDictionnaire();
+            return;
+        }
+
         afficherBanniere();
 
         DictionnaireService dictionnaire = new DictionnaireService();
 
         try {
-            dictionnaire.chargerDepuisFichier(FICHIER_DICTIONNAIRE);
+            dictionnaire.charger(FICHIER_DICTIONNAIRE);
             System.out.println("Dictionnaire charge : " + dictionnaire.getNombreMots() + " mots disponibles\n");
         } catch (IOException e) {
             System.out.println("ERREUR : Impossible de charger le dictionnaire.");
@@ -46,6 +53,23 @@ public class Main {
         interfaceJeu.fermer();
     }
 
+    /**
+     * Compile le dictionnaire texte en fichier binaire pour accelerer les demarrages suivants
+     */
+    private static void compilerDictionnaire() {
+        DictionnaireService dictionnaire = new DictionnaireService();
+        String cheminBinaire = DictionnaireService.cheminCompile(FICHIER_DICTIONNAIRE);
+
+        try {
+            dictionnaire.chargerDepuisFichierMappe(FICHIER_DICTIONNAIRE);
+            dictionnaire.compilerVers(cheminBinaire);
+            System.out.println("Dictionnaire compile : " + dictionnaire.getNombreMots() + " mots -> " + cheminBinaire);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("ERREUR : Impossible de compiler le dictionnaire.");
+            System.out.println("Message : " + e.getMessage());
+        }
+    }
+
     /**
      * Affiche la banniere de bienvenue
      */
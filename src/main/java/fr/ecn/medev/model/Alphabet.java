@@ -0,0 +1,124 @@
+package fr.ecn.medev.model;
+
+import java.text.Normalizer;
+
+/**
+ * Alphabet du jeu : passage en majuscules et repli des accents par simple lecture de table
+ * Les tables couvrent le Latin-1 et sont calculées une fois au chargement de la classe ;
+ * elles ne dépendent pas de la locale. Le repli ramène une lettre à sa lettre de base
+ * (é, è, ê, ë → E ; ç → C...) pour qu'une proposition « E » révèle aussi les É et les È.
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+public final class Alphabet {
+
+    /** Valeur retournée pour un caractère qui n'est pas une lettre reconnue */
+    public static final char NON_LETTRE = 0;
+
+    /** Nombre de lettres A-Z : une lettre repliée de ce rang tient sur un bit d'un masque de lettres */
+    static final int NOMBRE_LETTRES_LATINES = 26;
+
+    private static final int TAILLE_TABLE = 256;
+
+    // Majuscule Latin-1 de chaque caractère Latin-1, NON_LETTRE si ce n'en est pas une
+    private static final char[] MAJUSCULES = new char[TAILLE_TABLE];
+
+    // Lettre de base (sans accent) de chaque caractère Latin-1, NON_LETTRE si ce n'est pas une lettre
+    private static final char[] REPLIS = new char[TAILLE_TABLE];
+
+    static {
+        for (char c = 0; c < TAILLE_TABLE; c++) {
+            if (Character.isLetter(c)) {
+                char majuscule = Character.toUpperCase(c);
+                // ÿ et µ ont leur majuscule hors Latin-1 : ce ne sont pas des lettres de dictionnaire
+                MAJUSCULES[c] = majuscule < TAILLE_TABLE ? majuscule : NON_LETTRE;
+                REPLIS[c] = sansAccent(majuscule);
+            }
+        }
+    }
+
+    private Alphabet() {
+    }
+
+    /**
+     * Retourne la majuscule d'une lettre, accents conservés
+     * @param c le caractère
+     * @return la majuscule Latin-1, ou NON_LETTRE si le caractère n'est pas une lettre Latin-1
+     */
+    public static char majuscule(char c) {
+        return c < TAILLE_TABLE ? MAJUSCULES[c] : NON_LETTRE;
+    }
+
+    /**
+     * Retourne la lettre de base d'une lettre : majuscule et sans accent
+     * Hors Latin-1, on se rabat sur la majuscule Unicode (chemin lent, rare).
+     * @param c le caractère
+     * @return la lettre repliée, ou NON_LETTRE si le caractère n'est pas une lettre
+     */
+    public static char replier(char c) {
+        if (c < TAILLE_TABLE) {
+            return REPLIS[c];
+        }
+        return Character.isLetter(c) ? sansAccent(Character.toUpperCase(c)) : NON_LETTRE;
+    }
+
+    /**
+     * Retourne le rang d'une lettre repliée dans l'alphabet A-Z, c'est-à-dire son bit dans un masque de lettres
+     * @param lettreRepliee la lettre repliée
+     * @return 0 pour 'A' à 25 pour 'Z', -1 pour toute autre lettre (Æ, Ø, Ω...)
+     */
+    static int rangLatin(char lettreRepliee) {
+        int rang = lettreRepliee - 'A';
+        return rang >= 0 && rang < NOMBRE_LETTRES_LATINES ? rang : -1;
+    }
+
+    /**
+     * Met en majuscules toutes les lettres d'un texte, les autres caractères restant inchangés
+     * @param texte le texte
+     * @return le texte en majuscules (une majuscule par caractère, accents conservés)
+     */
+    public static String versMajuscules(String texte) {
+        char[] lettres = texte.toCharArray();
+        for (int i = 0; i < lettres.length; i++) {
+            char c = lettres[i];
+            char majuscule = c < TAILLE_TABLE ? MAJUSCULES[c] : NON_LETTRE;
+            if (majuscule != NON_LETTRE) {
+                lettres[i] = majuscule;
+            } else if (Character.isLetter(c)) {
+                lettres[i] = Character.toUpperCase(c);
+            }
+        }
+        return new String(lettres);
+    }
+
+    /**
+     * Met un mot en majuscules Latin-1, accents conservés
+     * @param mot le mot (sans espaces autour)
+     * @return le mot en majuscules, ou null s'il est vide ou contient autre chose que des lettres Latin-1
+     */
+    public static String majuscules(String mot) {
+        if (mot.isEmpty()) {
+            return null;
+        }
+
+        char[] lettres = new char[mot.length()];
+        for (int i = 0; i < lettres.length; i++) {
+            char c = mot.charAt(i);
+            lettres[i] = c < TAILLE_TABLE ? MAJUSCULES[c] : NON_LETTRE;
+            if (lettres[i] == NON_LETTRE) {
+                return null;
+            }
+        }
+        return new String(lettres);
+    }
+
+    /**
+     * Retire les accents d'une majuscule grâce à la décomposition canonique (É → E + ´)
+     * @param majuscule la lettre en majuscule
+     * @return la lettre de base, ou la lettre elle-même si elle ne se décompose pas (Æ, Ø...)
+     */
+    private static char sansAccent(char majuscule) {
+        char base = Normalizer.normalize(String.valueOf(majuscule), Normalizer.Form.NFD).charAt(0);
+        return Character.isLetter(base) ? base : majuscule;
+    }
+}
@@ -0,0 +1,164 @@
+package fr.ecn.medev.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodage binaire compact d'un état de partie, pour stocker ou répliquer un grand nombre de parties
+ * Disposition (entiers en petit-boutiste) :
+ * <ul>
+ *   <li>1 octet d'en-tête : état (bits 0-1), mot en clair (bit 2, toujours positionné),
+ *       nombre de propositions hors A-Z (bits 3-7)</li>
+ *   <li>1 octet : nombre d'erreurs ; 1 octet : nombre maximal d'erreurs</li>
+ *   <li>4 octets : masque des lettres A-Z proposées</li>
+ *   <li>1 octet de longueur suivi du mot en Latin-1</li>
+ *   <li>2 octets par proposition hors A-Z (Æ, Ø...)</li>
+ * </ul>
+ * Soit 8 + longueur du mot octets. Le mot est toujours écrit en clair : un indice dans le dictionnaire
+ * changerait à chaque rechargement et ferait relire une autre partie. L'encodage écrit et relit
+ * directement dans le tampon, sans collection intermédiaire.
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+public final class CodecPartie {
+
+    private static final int TAILLE_FIXE = 7;
+    private static final int MASQUE_ETAT = 0x3;
+    // Toujours positionné : sans lui, l'en-tête vient de l'ancien encodage par indice de mot
+    private static final int BIT_MOT_EN_CLAIR = 0x4;
+    private static final int DECALAGE_AUTRES = 3;
+    private static final int AUTRES_MAX = 31;
+    private static final int OCTET_MAX = 0xFF;
+
+    private static final EtatPartie[] ETATS = EtatPartie.values();
+
+    private CodecPartie() {
+    }
+
+    /**
+     * Calcule la taille encodée d'un état
+     * @param instantane l'état de la partie
+     * @return nombre d'octets
+     */
+    public static int taille(InstantanePartie instantane) {
+        return TAILLE_FIXE + 1 + instantane.getMotSecret().length() + 2 * instantane.autresPropositions().length;
+    }
+
+    /**
+     * Encode un état, le mot écrit en clair (Latin-1)
+     * @param instantane l'état de la partie
+     * @param destination le tampon, écrit à partir de sa position courante
+     * @return nombre d'octets écrits
+     * @throws IllegalArgumentException si l'état n'est pas encodable (mot hors Latin-1 ou trop long)
+     * @throws java.nio.BufferOverflowException si le tampon est trop petit
+     */
+    public static int encoder(InstantanePartie instantane, ByteBuffer destination) {
+        String mot = instantane.getMotSecret();
+        if (mot.length() > OCTET_MAX) {
+            throw new IllegalArgumentException("Mot trop long pour être encodé : " + mot.length());
+        }
+        for (int i = 0; i < mot.length(); i++) {
+            if (mot.charAt(i) > OCTET_MAX) {
+                throw new IllegalArgumentException("Le mot doit être en Latin-1 pour être encodé");
+            }
+        }
+
+        int nombreAutres = instantane.autresPropositions().length;
+        if (nombreAutres > AUTRES_MAX || instantane.getErreursMaximales() > OCTET_MAX) {
+            throw new IllegalArgumentException("État de partie trop grand pour être encodé");
+        }
+
+        int debut = destination.position();
+        destination.put((byte) (instantane.getEtat().ordinal() | BIT_MOT_EN_CLAIR | nombreAutres << DECALAGE_AUTRES));
+        destination.put((byte) instantane.getNombreErreurs());
+        destination.put((byte) instantane.getErreursMaximales());
+        ecrireEntier(destination, instantane.getMasquePropositions());
+        destination.put((byte) mot.length());
+        for (int i = 0; i < mot.length(); i++) {
+            destination.put((byte) mot.charAt(i));
+        }
+        for (char autre : instantane.autresPropositions()) {
+            destination.put((byte) autre);
+            destination.put((byte) (autre >>> 8));
+        }
+        return destination.position() - debut;
+    }
+
+    /**
+     * Décode un état écrit par encoder
+     * Le nombre d'erreurs et l'état sont recalculés depuis les propositions et vérifiés.
+     * @param source le tampon, lu à partir de sa position courante
+     * @return l'instantané décodé, sans historique
+     * @throws IllegalArgumentException si l'encodage est tronqué ou incohérent, ou désigne le mot
+     *         par un indice de dictionnaire (ancien format, refusé)
+     */
+    public static InstantanePartie decoder(ByteBuffer source) {
+        exiger(source, TAILLE_FIXE);
+        int enTete = source.get() & OCTET_MAX;
+        int erreurs = source.get() & OCTET_MAX;
+        int erreursMax = source.get() & OCTET_MAX;
+        int masque = lireEntier(source);
+
+        int etat = enTete & MASQUE_ETAT;
+        if (etat >= ETATS.length || erreursMax < 1 || (masque >>> Alphabet.NOMBRE_LETTRES_LATINES) != 0
+                || (enTete & BIT_MOT_EN_CLAIR) == 0) {
+            throw new IllegalArgumentException("Encodage de partie invalide");
+        }
+
+        exiger(source, 1);
+        int longueur = source.get() & OCTET_MAX;
+        exiger(source, longueur);
+        char[] lettres = new char[longueur];
+        for (int i = 0; i < longueur; i++) {
+            lettres[i] = (char) (source.get() & OCTET_MAX);
+        }
+        String mot = new String(lettres);
+
+        int nombreAutres = enTete >>> DECALAGE_AUTRES;
+        exiger(source, 2 * nombreAutres);
+        char[] autres = new char[nombreAutres];
+        for (int i = 0; i < nombreAutres; i++) {
+            char autre = (char) ((source.get() & OCTET_MAX) | (source.get() & OCTET_MAX) << 8);
+            // Chaque proposition hors A-Z doit être une lettre repliée, hors A-Z et distincte des précédentes
+            // (les cases non encore remplies valent NON_LETTRE et ne peuvent donc pas correspondre)
+            if (Alphabet.replier(autre) != autre || autre == Alphabet.NON_LETTRE || Alphabet.rangLatin(autre) >= 0
+                    || EnsembleLettres.indexAutre(autres, autre) >= 0) {
+                throw new IllegalArgumentException("Encodage de partie invalide");
+            }
+            autres[i] = autre;
+        }
+
+        InstantanePartie instantane = new InstantanePartie(new MotPartage(mot), masque, autres, erreursMax);
+        if (instantane.getNombreErreurs() != erreurs) {
+            throw new IllegalArgumentException("Encodage de partie incohérent avec le mot");
+        }
+        if (instantane.getEtat() != ETATS[etat]) {
+            // Seule exception admise : une partie abandonnée est perdue avant d'avoir épuisé ses erreurs
+            if (instantane.getEtat() != EtatPartie.EN_COURS || ETATS[etat] != EtatPartie.PERDUE) {
+                throw new IllegalArgumentException("Encodage de partie incohérent avec le mot");
+            }
+            instantane = instantane.abandonner();
+        }
+        return instantane;
+    }
+
+    // Octet par octet : le format ne dépend pas de l'ordre configuré sur le tampon de l'appelant
+    private static void ecrireEntier(ByteBuffer destination, int valeur) {
+        destination.put((byte) valeur);
+        destination.put((byte) (valeur >>> 8));
+        destination.put((byte) (valeur >>> 16));
+        destination.put((byte) (valeur >>> 24));
+    }
+
+    private static int lireEntier(ByteBuffer source) {
+        return (source.get() & OCTET_MAX)
+                | (source.get() & OCTET_MAX) << 8
+                | (source.get() & OCTET_MAX) << 16
+                | (source.get() & OCTET_MAX) << 24;
+    }
+
+    private static void exiger(ByteBuffer source, int octets) {
+        if (source.remaining() < octets) {
+            throw new IllegalArgumentException("Encodage de partie tronqué");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fr.ecn.medev.model;
+
+/**
+ * Niveaux de difficulté d'un mot, selon son nombre de lettres distinctes
+ * Moins un mot a de lettres différentes, moins chaque proposition a de chances de tomber juste.
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+public enum Difficulte {
+    /**
+     * Au moins 7 lettres distinctes
+     */
+    FACILE(7, Integer.MAX_VALUE),
+
+    /**
+     * 5 ou 6 lettres distinctes
+     */
+    MOYEN(5, 6),
+
+    /**
+     * Au plus 4 lettres distinctes
+     */
+    DIFFICILE(0, 4);
+
+    private final int lettresMin;
+    private final int lettresMax;
+
+    Difficulte(int lettresMin, int lettresMax) {
+        this.lettresMin = lettresMin;
+        this.lettresMax = lettresMax;
+    }
+
+    /**
+     * Retourne le niveau correspondant à un nombre de lettres distinctes
+     * @param lettresDistinctes nombre de lettres différentes du mot
+     * @return le niveau de difficulté
+     */
+    public static Difficulte pour(int lettresDistinctes) {
+        for (Difficulte difficulte : values()) {
+            if (lettresDistinctes >= difficulte.lettresMin && lettresDistinctes <= difficulte.lettresMax) {
+                return difficulte;
+            }
+        }
+        return DIFFICILE;
+    }
+}
@@ -0,0 +1,82 @@
+package fr.ecn.medev.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Opérations sur un ensemble de lettres repliées (voir Alphabet.replier) sans objet par lettre :
+ * un masque de 26 bits pour A-Z et un petit tableau, jamais modifié, pour les autres lettres (Æ, Ø, Ω...)
+ * C'est la seule représentation d'ensemble de lettres du modèle, pour le mot comme pour les propositions.
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+final class EnsembleLettres {
+
+    /** Tableau vide partagé, pour un ensemble sans lettre hors A-Z */
+    static final char[] AUCUNE_LETTRE = new char[0];
+
+    private EnsembleLettres() {
+    }
+
+    /**
+     * Vérifie la présence d'une lettre
+     * @param masque les lettres A-Z (bit i pour 'A' + i)
+     * @param autres les lettres hors A-Z
+     * @param lettreRepliee la lettre repliée
+     * @return true si la lettre est présente
+     */
+    static boolean contient(int masque, char[] autres, char lettreRepliee) {
+        int rang = Alphabet.rangLatin(lettreRepliee);
+        if (rang >= 0) {
+            return (masque & (1 << rang)) != 0;
+        }
+        return indexAutre(autres, lettreRepliee) >= 0;
+    }
+
+    /**
+     * Retourne l'indice d'une lettre hors A-Z
+     * @param autres les lettres hors A-Z
+     * @param lettreRepliee la lettre repliée
+     * @return l'indice de la lettre dans autres, ou -1
+     */
+    static int indexAutre(char[] autres, char lettreRepliee) {
+        for (int i = 0; i < autres.length; i++) {
+            if (autres[i] == lettreRepliee) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne une copie des lettres hors A-Z agrandie d'une lettre ; l'original reste inchangé
+     * Ces lettres sont rares et peu nombreuses : une case de plus à chaque nouvelle suffit.
+     * @param autres les lettres hors A-Z
+     * @param lettreRepliee la lettre à ajouter (absente de autres)
+     * @return le nouveau tableau
+     */
+    static char[] avecAutre(char[] autres, char lettreRepliee) {
+        char[] resultat = Arrays.copyOf(autres, autres.length + 1);
+        resultat[autres.length] = lettreRepliee;
+        return resultat;
+    }
+
+    /**
+     * Retourne les lettres sous forme d'ensemble non modifiable
+     * @param masque les lettres A-Z
+     * @param autres les lettres hors A-Z
+     * @return les lettres, A-Z dans l'ordre alphabétique puis les autres dans l'ordre du tableau
+     */
+    static Set<Character> enEnsemble(int masque, char[] autres) {
+        Set<Character> lettres = new LinkedHashSet<>();
+        for (int bits = masque; bits != 0; bits &= bits - 1) {
+            lettres.add((char) ('A' + Integer.numberOfTrailingZeros(bits)));
+        }
+        for (char autre : autres) {
+            lettres.add(autre);
+        }
+        return Collections.unmodifiableSet(lettres);
+    }
+}
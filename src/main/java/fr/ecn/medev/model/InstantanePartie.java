@@ -0,0 +1,408 @@
+package fr.ecn.medev.model;
+
+import java.util.Set;
+
+/**
+ * État immuable d'une partie de pendu à un instant donné
+ * Un instantané ne contient qu'un masque des lettres proposées, le nombre d'erreurs et l'état ;
+ * le mot secret est partagé par tous les instantanés de la partie. proposerLettre() retourne un
+ * nouvel instantané relié au précédent : annuler, rejouer ou lire depuis un autre thread ne
+ * demande ni copie ni verrou.
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+public final class InstantanePartie {
+
+    private final MotPartage mot;
+
+    // Lettres proposées : bit i pour 'A' + i, tableau (jamais modifié) pour les autres lettres
+    private final int masquePropositions;
+    private final char[] autresPropositions;
+
+    private final int nombreErreurs;
+    private final int erreursMaximales;
+    private final int lettresRestantes;
+    private final EtatPartie etat;
+
+    // Instantané d'où l'on vient, null pour le début de partie ou un instantané décodé
+    private final InstantanePartie precedent;
+
+    // Calculés au premier appel ; une course entre lecteurs ne fait que recalculer la même valeur
+    private String affichageEnCache;
+    private Set<Character> lettresEnCache;
+
+    /**
+     * Crée l'instantané de début de partie
+     * @param mot le mot à deviner
+     * @param erreursMax le nombre maximum d'erreurs autorisées
+     * @throws IllegalArgumentException si erreursMax est inférieur à 1, ou si le mot est null ou vide
+     */
+    public InstantanePartie(String mot, int erreursMax) {
+        if (erreursMax < 1) {
+            throw new IllegalArgumentException("Le nombre d'erreurs doit être au moins 1");
+        }
+        this.mot = new MotPartage(mot);
+        this.masquePropositions = 0;
+        this.autresPropositions = EnsembleLettres.AUCUNE_LETTRE;
+        this.nombreErreurs = 0;
+        this.erreursMaximales = erreursMax;
+        this.lettresRestantes = this.mot.nombreLettres();
+        this.etat = EtatPartie.EN_COURS;
+        this.precedent = null;
+    }
+
+    /**
+     * Reconstruit un instantané sans historique à partir de ses propositions (décodage)
+     * @param mot le mot partagé
+     * @param masquePropositions les lettres A-Z proposées
+     * @param autresPropositions les autres lettres proposées, distinctes (tableau conservé tel quel)
+     * @param erreursMax le nombre maximum d'erreurs autorisées
+     */
+    InstantanePartie(MotPartage mot, int masquePropositions, char[] autresPropositions, int erreursMax) {
+        int erreurs = Integer.bitCount(masquePropositions & ~mot.masque());
+        int revelees = Integer.bitCount(masquePropositions & mot.masque());
+        for (char autre : autresPropositions) {
+            if (mot.contient(autre)) {
+                revelees++;
+            } else {
+                erreurs++;
+            }
+        }
+
+        this.mot = mot;
+        this.masquePropositions = masquePropositions;
+        this.autresPropositions = autresPropositions.length == 0
+                ? EnsembleLettres.AUCUNE_LETTRE : autresPropositions;
+        this.nombreErreurs = erreurs;
+        this.erreursMaximales = erreursMax;
+        this.lettresRestantes = mot.nombreLettres() - revelees;
+        this.etat = etatPour(mot, lettresRestantes, erreurs, erreursMax);
+        this.precedent = null;
+    }
+
+    private InstantanePartie(InstantanePartie precedent, int masquePropositions, char[] autresPropositions,
+                             int nombreErreurs, int lettresRestantes, EtatPartie etat) {
+        this.mot = precedent.mot;
+        this.masquePropositions = masquePropositions;
+        this.autresPropositions = autresPropositions;
+        this.nombreErreurs = nombreErreurs;
+        this.erreursMaximales = precedent.erreursMaximales;
+        this.lettresRestantes = lettresRestantes;
+        this.etat = etat;
+        this.precedent = precedent;
+    }
+
+    private InstantanePartie(InstantanePartie source) {
+        this.mot = source.mot;
+        this.masquePropositions = source.masquePropositions;
+        this.autresPropositions = source.autresPropositions;
+        this.nombreErreurs = source.nombreErreurs;
+        this.erreursMaximales = source.erreursMaximales;
+        this.lettresRestantes = source.lettresRestantes;
+        this.etat = source.etat;
+        this.precedent = null;
+        this.affichageEnCache = source.affichageEnCache;
+        this.lettresEnCache = source.lettresEnCache;
+    }
+
+    /**
+     * Propose une lettre et retourne l'instantané qui en résulte ; celui-ci reste inchangé
+     * @param lettre la lettre proposée
+     * @return le nouvel instantané, ou celui-ci si la lettre a déjà été proposée
+     * @throws IllegalArgumentException si la lettre n'est pas alphabétique
+     * @throws IllegalStateException si la partie est terminée
+     */
+    public InstantanePartie proposerLettre(char lettre) {
+        char lettreRepliee = Alphabet.replier(lettre);
+        if (lettreRepliee == Alphabet.NON_LETTRE) {
+            throw new IllegalArgumentException("Seules les lettres sont autorisées");
+        }
+
+        if (etat != EtatPartie.EN_COURS) {
+            throw new IllegalStateException("La partie est terminée");
+        }
+
+        if (aEtePropose(lettreRepliee)) {
+            return this;
+        }
+
+        int masque = masquePropositions;
+        char[] autres = autresPropositions;
+        int rang = Alphabet.rangLatin(lettreRepliee);
+        if (rang >= 0) {
+            masque |= 1 << rang;
+        } else {
+            autres = EnsembleLettres.avecAutre(autres, lettreRepliee);
+        }
+
+        boolean presente = mot.contient(lettreRepliee);
+        int erreurs = presente ? nombreErreurs : nombreErreurs + 1;
+        int restantes = presente ? lettresRestantes - 1 : lettresRestantes;
+
+        return new InstantanePartie(this, masque, autres, erreurs, restantes,
+                etatPour(mot, restantes, erreurs, erreursMaximales));
+    }
+
+    /**
+     * Propose une suite de lettres en une passe, en s'arrêtant dès que la partie est terminée
+     * Les lettres sont toutes vérifiées avant d'en appliquer une seule. Un seul instantané est
+     * créé pour toute la suite : annuler() sur le résultat revient à avant la suite entière.
+     * @param lettres les lettres proposées, dans l'ordre
+     * @return le résultat lettre par lettre et l'instantané final
+     * @throws IllegalArgumentException si l'un des caractères n'est pas alphabétique
+     * @throws IllegalStateException si la partie est déjà terminée
+     */
+    public ResultatPropositions proposerLettres(CharSequence lettres) {
+        int longueur = lettres.length();
+        for (int i = 0; i < longueur; i++) {
+            if (Alphabet.replier(lettres.charAt(i)) == Alphabet.NON_LETTRE) {
+                throw new IllegalArgumentException("Seules les lettres sont autorisées");
+            }
+        }
+
+        if (etat != EtatPartie.EN_COURS) {
+            throw new IllegalStateException("La partie est terminée");
+        }
+
+        long[] touchees = new long[(longueur + 63) >>> 6];
+        int masque = masquePropositions;
+        char[] autres = autresPropositions;
+        int erreurs = nombreErreurs;
+        int restantes = lettresRestantes;
+        EtatPartie suivant = EtatPartie.EN_COURS;
+        int traitees = 0;
+        boolean modifie = false;
+
+        while (traitees < longueur && suivant == EtatPartie.EN_COURS) {
+            char lettreRepliee = Alphabet.replier(lettres.charAt(traitees));
+            int indice = traitees++;
+            if (EnsembleLettres.contient(masque, autres, lettreRepliee)) {
+                continue;
+            }
+
+            int rang = Alphabet.rangLatin(lettreRepliee);
+            if (rang >= 0) {
+                masque |= 1 << rang;
+            } else {
+                autres = EnsembleLettres.avecAutre(autres, lettreRepliee);
+            }
+            modifie = true;
+
+            if (mot.contient(lettreRepliee)) {
+                touchees[indice >>> 6] |= 1L << indice;
+                restantes--;
+            } else {
+                erreurs++;
+            }
+            suivant = etatPour(mot, restantes, erreurs, erreursMaximales);
+        }
+
+        InstantanePartie fin = modifie
+                ? new InstantanePartie(this, masque, autres, erreurs, restantes, suivant) : this;
+        return new ResultatPropositions(fin, touchees, traitees);
+    }
+
+    /**
+     * Abandonne la partie (par exemple faute de proposition dans le temps imparti)
+     * @return un instantané à l'état PERDUE, propositions et erreurs inchangées
+     * @throws IllegalStateException si la partie est déjà terminée
+     */
+    public InstantanePartie abandonner() {
+        if (etat != EtatPartie.EN_COURS) {
+            throw new IllegalStateException("La partie est terminée");
+        }
+        return new InstantanePartie(this, masquePropositions, autresPropositions, nombreErreurs,
+                lettresRestantes, EtatPartie.PERDUE);
+    }
+
+    private static EtatPartie etatPour(MotPartage mot, int restantes, int erreurs, int erreursMax) {
+        if (restantes == 0 && !mot.contientNonLettre()) {
+            return EtatPartie.GAGNEE;
+        }
+        return erreurs >= erreursMax ? EtatPartie.PERDUE : EtatPartie.EN_COURS;
+    }
+
+    /**
+     * Retourne l'instantané précédent, pour annuler la dernière proposition
+     * @return l'instantané d'avant la dernière proposition
+     * @throws IllegalStateException si l'instantané n'a pas de précédent
+     */
+    public InstantanePartie annuler() {
+        if (precedent == null) {
+            throw new IllegalStateException("Aucune proposition à annuler");
+        }
+        return precedent;
+    }
+
+    /**
+     * Retourne le même état détaché de son historique, pour le conserver sans retenir les précédents
+     * @return cet instantané s'il n'a pas de précédent, sinon une copie sans précédent
+     */
+    public InstantanePartie sansHistorique() {
+        return precedent == null ? this : new InstantanePartie(this);
+    }
+
+    /**
+     * Vérifie si l'instantané est le premier de son historique
+     * @return true au début de la partie, ou pour un instantané décodé (sans historique)
+     */
+    public boolean estInitial() {
+        return precedent == null;
+    }
+
+    private boolean aEtePropose(char lettreRepliee) {
+        return EnsembleLettres.contient(masquePropositions, autresPropositions, lettreRepliee);
+    }
+
+    /**
+     * Vérifie si une lettre a déjà été proposée
+     * @param lettre la lettre à vérifier
+     * @return true si la lettre a été proposée, false sinon
+     */
+    public boolean estLettreDejaProposee(char lettre) {
+        char lettreRepliee = Alphabet.replier(lettre);
+        return lettreRepliee != Alphabet.NON_LETTRE && aEtePropose(lettreRepliee);
+    }
+
+    /**
+     * Vérifie si une lettre a été révélée : proposée et présente dans le mot
+     * @param lettre la lettre à vérifier
+     * @return true si la lettre a été révélée, false sinon
+     */
+    public boolean estLettreRevelee(char lettre) {
+        char lettreRepliee = Alphabet.replier(lettre);
+        return lettreRepliee != Alphabet.NON_LETTRE && aEtePropose(lettreRepliee) && mot.contient(lettreRepliee);
+    }
+
+    /**
+     * Retourne l'affichage du mot, calculé une fois par instantané
+     * L'affichage part de celui de l'instantané précédent et ne modifie que les cases des lettres
+     * proposées depuis, en suivant leur chaîne de positions ; sans précédent, il part du mot masqué.
+     * @return le mot avec lettres révélées et underscores
+     */
+    public String getMotAffiche() {
+        String affichage = affichageEnCache;
+        if (affichage == null) {
+            if (precedent == null) {
+                affichage = new String(revelerDepuis(mot.casesMasquees(), 0, 0));
+            } else if (precedent.masquePropositions == masquePropositions
+                    && precedent.autresPropositions.length == autresPropositions.length) {
+                // Abandon : rien de nouveau à révéler
+                affichage = precedent.getMotAffiche();
+            } else {
+                affichage = new String(revelerDepuis(precedent.getMotAffiche().toCharArray(),
+                        precedent.masquePropositions, precedent.autresPropositions.length));
+            }
+            affichageEnCache = affichage;
+        }
+        return affichage;
+    }
+
+    /**
+     * Écrit dans un affichage les lettres proposées après un état donné
+     * @param cases l'affichage de cet état, modifié sur place
+     * @param masqueDeja les lettres A-Z déjà appliquées à l'affichage
+     * @param autresDeja nombre de lettres hors A-Z déjà appliquées (début de autresPropositions)
+     * @return le tableau cases
+     */
+    private char[] revelerDepuis(char[] cases, int masqueDeja, int autresDeja) {
+        for (int bits = masquePropositions & ~masqueDeja & mot.masque(); bits != 0; bits &= bits - 1) {
+            reveler(cases, (char) ('A' + Integer.numberOfTrailingZeros(bits)));
+        }
+        for (int i = autresDeja; i < autresPropositions.length; i++) {
+            reveler(cases, autresPropositions[i]);
+        }
+        return cases;
+    }
+
+    private void reveler(char[] cases, char lettreRepliee) {
+        String motComplet = mot.motComplet();
+        for (int position = mot.premierePosition(lettreRepliee); position >= 0;
+             position = mot.positionSuivante(position)) {
+            cases[position * 2] = motComplet.charAt(position);
+        }
+    }
+
+    /**
+     * Retourne l'ensemble des lettres proposées, en majuscules sans accent
+     * @return ensemble non modifiable des lettres, A-Z dans l'ordre alphabétique puis les autres
+     */
+    public Set<Character> getLettresProposees() {
+        Set<Character> vue = lettresEnCache;
+        if (vue == null) {
+            vue = EnsembleLettres.enEnsemble(masquePropositions, autresPropositions);
+            lettresEnCache = vue;
+        }
+        return vue;
+    }
+
+    /**
+     * Retourne le masque des lettres A-Z proposées
+     * @return bit i positionné si la lettre 'A' + i a été proposée
+     */
+    public int getMasquePropositions() {
+        return masquePropositions;
+    }
+
+    /**
+     * Retourne le nombre d'erreurs commises
+     * @return nombre d'erreurs
+     */
+    public int getNombreErreurs() {
+        return nombreErreurs;
+    }
+
+    /**
+     * Retourne le nombre d'erreurs restantes autorisées
+     * @return erreurs restantes
+     */
+    public int getErreursRestantes() {
+        return erreursMaximales - nombreErreurs;
+    }
+
+    /**
+     * Retourne le nombre maximal d'erreurs autorisées
+     * @return erreurs maximales
+     */
+    public int getErreursMaximales() {
+        return erreursMaximales;
+    }
+
+    /**
+     * Retourne le nombre de lettres distinctes (sans accent) qu'il reste à découvrir
+     * @return nombre de lettres restantes
+     */
+    public int getLettresRestantes() {
+        return lettresRestantes;
+    }
+
+    /**
+     * Retourne l'état de la partie dans cet instantané
+     * @return l'état (EN_COURS, GAGNEE, PERDUE)
+     */
+    public EtatPartie getEtat() {
+        return etat;
+    }
+
+    /**
+     * @return le mot partagé par les instantanés de la partie
+     */
+    MotPartage motPartage() {
+        return mot;
+    }
+
+    /**
+     * @return les lettres hors A-Z proposées (tableau partagé, à ne pas modifier)
+     */
+    char[] autresPropositions() {
+        return autresPropositions;
+    }
+
+    /**
+     * Retourne le mot secret (à utiliser en fin de partie)
+     * @return le mot complet
+     */
+    public String getMotSecret() {
+        return mot.motComplet();
+    }
+}
@@ -0,0 +1,151 @@
+package fr.ecn.medev.model;
+
+import java.util.Arrays;
+
+/**
+ * Mot secret immuable, calculé une fois et partagé par tous les instantanés d'une même partie
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+final class MotPartage {
+
+    // Mot en majuscules, accents conservés
+    private final String motComplet;
+
+    // Lettres repliées du mot : masque de 26 bits pour A-Z, tableau pour les autres
+    private final int masque;
+    private final char[] autres;
+
+    // Positions de chaque lettre repliée, chaînées dans l'ordre croissant : premieres[rang] pour A-Z,
+    // autresPremieres[i] pour autres[i], puis suivantes[position] ; -1 en fin de chaîne
+    private final int[] premieres;
+    private final int[] autresPremieres;
+    private final int[] suivantes;
+
+    private final boolean contientNonLettre;
+
+    /**
+     * Constructeur du mot partagé
+     * @param mot le mot à deviner (sera converti en majuscules)
+     * @throws IllegalArgumentException si le mot est null ou vide
+     */
+    MotPartage(String mot) {
+        if (mot == null || mot.isEmpty()) {
+            throw new IllegalArgumentException("Le mot ne peut pas être null ou vide");
+        }
+        this.motComplet = Alphabet.versMajuscules(mot);
+        this.premieres = new int[Alphabet.NOMBRE_LETTRES_LATINES];
+        this.suivantes = new int[motComplet.length()];
+        Arrays.fill(premieres, -1);
+
+        int bits = 0;
+        char[] horsLatin = EnsembleLettres.AUCUNE_LETTRE;
+        int[] horsLatinPremieres = new int[0];
+        boolean nonLettre = false;
+
+        // Parcours à rebours : chaque position est mise en tête de sa chaîne, qui sort donc dans l'ordre croissant
+        for (int i = motComplet.length() - 1; i >= 0; i--) {
+            char lettreRepliee = Alphabet.replier(motComplet.charAt(i));
+            if (lettreRepliee == Alphabet.NON_LETTRE) {
+                nonLettre = true;
+                continue;
+            }
+            int rang = Alphabet.rangLatin(lettreRepliee);
+            if (rang >= 0) {
+                bits |= 1 << rang;
+                suivantes[i] = premieres[rang];
+                premieres[rang] = i;
+                continue;
+            }
+
+            int autre = EnsembleLettres.indexAutre(horsLatin, lettreRepliee);
+            if (autre < 0) {
+                // Lettres hors A-Z rares et peu nombreuses : tableaux agrandis d'une case à chaque nouvelle
+                autre = horsLatin.length;
+                horsLatin = EnsembleLettres.avecAutre(horsLatin, lettreRepliee);
+                horsLatinPremieres = Arrays.copyOf(horsLatinPremieres, autre + 1);
+                horsLatinPremieres[autre] = -1;
+            }
+            suivantes[i] = horsLatinPremieres[autre];
+            horsLatinPremieres[autre] = i;
+        }
+
+        this.masque = bits;
+        this.autres = horsLatin;
+        this.autresPremieres = horsLatinPremieres;
+        this.contientNonLettre = nonLettre;
+    }
+
+    /**
+     * Vérifie si le mot contient une lettre
+     * @param lettreRepliee la lettre repliée
+     * @return true si la lettre apparaît au moins une fois
+     */
+    boolean contient(char lettreRepliee) {
+        return EnsembleLettres.contient(masque, autres, lettreRepliee);
+    }
+
+    /**
+     * Retourne la première position d'une lettre dans le mot
+     * @param lettreRepliee la lettre repliée
+     * @return la première position, ou -1 si la lettre est absente
+     */
+    int premierePosition(char lettreRepliee) {
+        int rang = Alphabet.rangLatin(lettreRepliee);
+        if (rang >= 0) {
+            return premieres[rang];
+        }
+        int autre = EnsembleLettres.indexAutre(autres, lettreRepliee);
+        return autre < 0 ? -1 : autresPremieres[autre];
+    }
+
+    /**
+     * Retourne la position suivante de la même lettre
+     * @param position une position de la chaîne
+     * @return la position suivante, ou -1 en fin de chaîne
+     */
+    int positionSuivante(int position) {
+        return suivantes[position];
+    }
+
+    /**
+     * Retourne l'affichage du mot sans aucune lettre révélée (nouveau tableau à chaque appel)
+     * @return les cases "_ _ _", un '_' aux positions paires et un espace entre deux
+     */
+    char[] casesMasquees() {
+        char[] cases = new char[motComplet.length() * 2 - 1];
+        Arrays.fill(cases, ' ');
+        for (int i = 0; i < motComplet.length(); i++) {
+            cases[i * 2] = '_';
+        }
+        return cases;
+    }
+
+    /**
+     * @return nombre de lettres distinctes (repliées) du mot
+     */
+    int nombreLettres() {
+        return Integer.bitCount(masque) + autres.length;
+    }
+
+    /**
+     * @return masque des lettres A-Z du mot (bit i pour 'A' + i)
+     */
+    int masque() {
+        return masque;
+    }
+
+    /**
+     * @return true si le mot contient un caractère qui ne pourra jamais être révélé
+     */
+    boolean contientNonLettre() {
+        return contientNonLettre;
+    }
+
+    /**
+     * @return le mot en majuscules
+     */
+    String motComplet() {
+        return motComplet;
+    }
+}
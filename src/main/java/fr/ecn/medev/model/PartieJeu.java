@@ -1,20 +1,19 @@
 package fr.ecn.medev.model;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * Représente l'état complet d'une partie de pendu
+ * Tout l'état tient dans l'instantané courant, remplacé à chaque proposition : les lectures
+ * (affichage, lettres, état) peuvent se faire depuis un autre thread sans verrou.
  * @author Imane Laasri
  * @version 1.0
  */
 public class PartieJeu {
     
-    private final MotSecret motSecret;
-    private final Set<Character> lettresProposees;
-    private final int erreursMaximales;
-    private int nombreErreurs;
-    private EtatPartie etat;
+    // État courant, immuable : lisible depuis un autre thread sans verrou
+    private volatile InstantanePartie instantane;
     
     /**
      * Constructeur d'une partie de pendu
@@ -23,15 +22,19 @@ public class PartieJeu {
      * @throws IllegalArgumentException si erreursMax est inférieur à 1
      */
     public PartieJeu(String mot, int erreursMax) {
-        if (erreursMax < 1) {
-            throw new IllegalArgumentException("Le nombre d'erreurs doit être au moins 1");
+        this.instantane = new InstantanePartie(mot, erreursMax);
+    }
+
+    /**
+     * Reprend une partie à partir d'un instantané (par exemple décodé avec CodecPartie)
+     * @param instantane l'état de la partie à reprendre
+     * @throws IllegalArgumentException si l'instantané est null
+     */
+    public PartieJeu(InstantanePartie instantane) {
+        if (instantane == null) {
+            throw new IllegalArgumentException("L'instantané ne peut pas être null");
         }
-        
-        this.motSecret = new MotSecret(mot);
-        this.lettresProposees = new HashSet<>();
-        this.erreursMaximales = erreursMax;
-        this.nombreErreurs = 0;
-        this.etat = EtatPartie.EN_COURS;
+        this.instantane = instantane;
     }
     
     /**
@@ -42,44 +45,46 @@ public class PartieJeu {
      * @throws IllegalStateException si la partie est terminée
      */
     public boolean proposerLettre(char lettre) {
-        if (!Character.isLetter(lettre)) {
-            throw new IllegalArgumentException("Seules les lettres sont autorisées");
-        }
-        
-        if (etat != EtatPartie.EN_COURS) {
-            throw new IllegalStateException("La partie est terminée");
-        }
-        
-        
-        char lettreMaj = Character.toUpperCase(lettre);
-        
-        // Lettre déjà proposée - on ne compte pas comme erreur
-        if (lettresProposees.contains(lettreMaj)) {
+        InstantanePartie courant = instantane;
+        InstantanePartie suivant = courant.proposerLettre(lettre);
+
+        // Lettre déjà proposée (éventuellement sous une autre forme accentuée) - on ne compte pas comme erreur
+        if (suivant == courant) {
             return false;
         }
-        
-        lettresProposees.add(lettreMaj);
-        
-        boolean presente = motSecret.revelerLettre(lettreMaj);
-        
-        if (!presente) {
-            nombreErreurs++;
-        }
-        
-        mettreAJourEtat();
-        
-        return presente;
+
+        instantane = suivant;
+        return suivant.estLettreRevelee(lettre);
+    }
+    
+    /**
+     * Propose une suite de lettres en une seule passe, jusqu'à la fin de la partie
+     * @param lettres les lettres proposées, dans l'ordre
+     * @return pour chaque lettre traitée, si elle était dans le mot
+     * @throws IllegalArgumentException si l'un des caractères n'est pas alphabétique (aucune lettre n'est alors appliquée)
+     * @throws IllegalStateException si la partie est terminée
+     */
+    public ResultatPropositions proposerLettres(CharSequence lettres) {
+        ResultatPropositions resultat = instantane.proposerLettres(lettres);
+        instantane = resultat.getInstantane();
+        return resultat;
+    }
+    
+    /**
+     * Abandonne la partie : elle est perdue sans erreur supplémentaire
+     * @throws IllegalStateException si la partie est terminée
+     */
+    public void abandonner() {
+        instantane = instantane.abandonner();
     }
     
     /**
-     * Met à jour l'état de la partie (victoire ou défaite)
+     * Retourne l'état courant de la partie sous forme d'instantané immuable
+     * L'instantané peut être conservé (historique, annulation) ou lu depuis un autre thread.
+     * @return l'instantané courant
      */
-    private void mettreAJourEtat() {
-        if (motSecret.estComplet()) {
-            etat = EtatPartie.GAGNEE;
-        } else if (nombreErreurs >= erreursMaximales) {
-            etat = EtatPartie.PERDUE;
-        }
+    public InstantanePartie getInstantane() {
+        return instantane;
     }
     
     /**
@@ -88,7 +93,7 @@ public class PartieJeu {
      * @return true si la lettre a été proposée, false sinon
      */
     public boolean estLettreDejaProposee(char lettre) {
-        return lettresProposees.contains(Character.toUpperCase(lettre));
+        return instantane.estLettreDejaProposee(lettre);
     }
     
     /**
@@ -96,7 +101,7 @@ public class PartieJeu {
      * @return le mot avec lettres révélées et underscores
      */
     public String getMotAffiche() {
-        return motSecret.getMotAffiche();
+        return instantane.getMotAffiche();
     }
     
     /**
@@ -104,7 +109,7 @@ public class PartieJeu {
      * @return nombre d'erreurs
      */
     public int getNombreErreurs() {
-        return nombreErreurs;
+        return instantane.getNombreErreurs();
     }
     
     /**
@@ -112,7 +117,7 @@ public class PartieJeu {
      * @return erreurs restantes
      */
     public int getErreursRestantes() {
-        return erreursMaximales - nombreErreurs;
+        return instantane.getErreursRestantes();
     }
     
     /**
@@ -120,15 +125,16 @@ public class PartieJeu {
      * @return l'état (EN_COURS, GAGNEE, PERDUE)
      */
     public EtatPartie getEtat() {
-        return etat;
+        return instantane.getEtat();
     }
     
     /**
-     * Retourne l'ensemble des lettres proposées
-     * @return copie de l'ensemble des lettres
+     * Retourne l'ensemble des lettres proposées, en majuscules sans accent
+     * Pour un affichage à chaque tour sans copie, voir getInstantane().getLettresProposees().
+     * @return copie modifiable de l'ensemble des lettres, dans l'ordre alphabétique
      */
     public Set<Character> getLettresProposees() {
-        return new HashSet<>(lettresProposees);
+        return new LinkedHashSet<>(instantane.getLettresProposees());
     }
     
     /**
@@ -136,7 +142,7 @@ public class PartieJeu {
      * @return le mot complet
      */
     public String getMotSecret() {
-        return motSecret.getMotComplet();
+        return instantane.getMotSecret();
     }
     
     /**
@@ -144,6 +150,6 @@ public class PartieJeu {
      * @return erreurs maximales
      */
     public int getErreursMaximales() {
-        return erreursMaximales;
+        return instantane.getErreursMaximales();
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package fr.ecn.medev.model;
+
+import java.util.Objects;
+
+/**
+ * Résultat d'une suite de propositions : un bit par lettre traitée (dans le mot ou non)
+ * et l'instantané de la partie après la dernière lettre traitée
+ * Une lettre déjà proposée compte comme non trouvée, comme avec PartieJeu.proposerLettre.
+ * @author Oussama Kazoubi
+ * @version 1.0
+ */
+public final class ResultatPropositions {
+
+    private final InstantanePartie instantane;
+
+    // Bit i positionné si la i-ème lettre était dans le mot
+    private final long[] touchees;
+    private final int nombreTraitees;
+
+    /**
+     * Constructeur du résultat
+     * @param instantane l'état après la dernière lettre traitée
+     * @param touchees un bit par lettre (tableau conservé tel quel)
+     * @param nombreTraitees nombre de lettres appliquées avant la fin de la suite ou de la partie
+     */
+    ResultatPropositions(InstantanePartie instantane, long[] touchees, int nombreTraitees) {
+        this.instantane = instantane;
+        this.touchees = touchees;
+        this.nombreTraitees = nombreTraitees;
+    }
+
+    /**
+     * Retourne le nombre de lettres traitées ; les suivantes ont été ignorées car la partie était terminée
+     * @return nombre de lettres traitées
+     */
+    public int getNombreTraitees() {
+        return nombreTraitees;
+    }
+
+    /**
+     * Indique si une lettre de la suite était dans le mot
+     * @param indice la position de la lettre dans la suite
+     * @return true si la lettre a révélé au moins une case
+     * @throws IndexOutOfBoundsException si la lettre n'a pas été traitée
+     */
+    public boolean estTouchee(int indice) {
+        Objects.checkIndex(indice, nombreTraitees);
+        return (touchees[indice >>> 6] & (1L << indice)) != 0;
+    }
+
+    /**
+     * @return nombre de lettres de la suite qui étaient dans le mot
+     */
+    public int getNombreTouchees() {
+        int total = 0;
+        for (long bloc : touchees) {
+            total += Long.bitCount(bloc);
+        }
+        return total;
+    }
+
+    /**
+     * @return l'état de la partie après la dernière lettre traitée
+     */
+    public InstantanePartie getInstantane() {
+        return instantane;
+    }
+}
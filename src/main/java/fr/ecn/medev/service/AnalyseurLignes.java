@@ -0,0 +1,200 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.Alphabet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Découpe un tampon d'octets en lignes et valide/normalise les mots sans créer de String par ligne
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class AnalyseurLignes {
+
+    /**
+     * Reçoit chaque mot accepté, en majuscules et encodé en Latin-1
+     */
+    @FunctionalInterface
+    interface ConsommateurMot {
+        /**
+         * @param lettres tampon contenant le mot (réutilisé entre deux appels)
+         * @param longueur nombre d'octets utiles au début du tampon
+         */
+        void accepter(byte[] lettres, int longueur);
+    }
+
+    // Taille maximale d'une projection mémoire (limite des ByteBuffer)
+    private static final long TAILLE_SEGMENT = 1L << 30;
+
+    private final ConsommateurMot consommateur;
+    private byte[] tampon;
+
+    // Lignes non vides transmises au consommateur ou écartées
+    private long acceptees;
+    private long rejetees;
+
+    /**
+     * Constructeur de l'analyseur
+     * @param consommateur destinataire des mots acceptés
+     */
+    AnalyseurLignes(ConsommateurMot consommateur) {
+        this.consommateur = consommateur;
+        this.tampon = new byte[64];
+    }
+
+    /**
+     * Projette un fichier en mémoire segment par segment et analyse toutes ses lignes
+     * @param chemin le fichier à lire
+     * @param consommateur destinataire des mots acceptés
+     * @throws IOException si le fichier n'existe pas ou est illisible
+     */
+    static void analyserFichier(Path chemin, ConsommateurMot consommateur) throws IOException {
+        AnalyseurLignes analyseur = new AnalyseurLignes(consommateur);
+
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            long position = 0;
+
+            while (position < taille) {
+                long longueur = Math.min(TAILLE_SEGMENT, taille - position);
+                MappedByteBuffer segment = canal.map(FileChannel.MapMode.READ_ONLY, position, longueur);
+
+                int fin = (int) longueur;
+                if (position + longueur < taille) {
+                    // On coupe après le dernier saut de ligne pour ne pas scinder un mot
+                    fin = dernierSautDeLigne(segment, fin) + 1;
+                    if (fin == 0) {
+                        throw new IOException("Ligne trop longue dans " + chemin);
+                    }
+                }
+
+                analyseur.analyser(segment, 0, fin);
+                position += fin;
+            }
+        }
+    }
+
+    /**
+     * Retourne l'indice du dernier '\n' avant une borne
+     * @param octets le tampon à parcourir
+     * @param fin borne exclusive
+     * @return l'indice du saut de ligne, ou -1 s'il n'y en a pas
+     */
+    static int dernierSautDeLigne(ByteBuffer octets, int fin) {
+        for (int i = fin - 1; i >= 0; i--) {
+            if (octets.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Analyse toutes les lignes comprises entre deux positions absolues d'un tampon
+     * @param octets le tampon source (sa position n'est pas modifiée)
+     * @param debut position de départ incluse
+     * @param fin position de fin exclue
+     */
+    void analyser(ByteBuffer octets, int debut, int fin) {
+        int debutLigne = debut;
+
+        for (int i = debut; i < fin; i++) {
+            if (octets.get(i) == '\n') {
+                analyserLigne(octets, debutLigne, i);
+                debutLigne = i + 1;
+            }
+        }
+
+        if (debutLigne < fin) {
+            analyserLigne(octets, debutLigne, fin);
+        }
+    }
+
+    /**
+     * @return nombre de lignes acceptées depuis la création de l'analyseur
+     */
+    long acceptees() {
+        return acceptees;
+    }
+
+    /**
+     * @return nombre de lignes non vides rejetées depuis la création de l'analyseur
+     */
+    long rejetees() {
+        return rejetees;
+    }
+
+    /**
+     * Valide et normalise une ligne : espaces retirés, majuscules, lettres uniquement
+     * @param octets le tampon source
+     * @param debut début de la ligne
+     * @param fin fin de la ligne (hors '\n')
+     */
+    private void analyserLigne(ByteBuffer octets, int debut, int fin) {
+        // Équivalent de String.trim() sur les octets
+        while (debut < fin && (octets.get(debut) & 0xFF) <= ' ') {
+            debut++;
+        }
+        while (fin > debut && (octets.get(fin - 1) & 0xFF) <= ' ') {
+            fin--;
+        }
+
+        int longueur = fin - debut;
+        if (longueur == 0) {
+            return;
+        }
+        if (tampon.length < longueur) {
+            tampon = new byte[Math.max(longueur, tampon.length * 2)];
+        }
+
+        for (int i = 0; i < longueur; i++) {
+            int b = octets.get(debut + i) & 0xFF;
+
+            if (b >= 'a' && b <= 'z') {
+                tampon[i] = (byte) (b - ('a' - 'A'));
+            } else if (b >= 'A' && b <= 'Z') {
+                tampon[i] = (byte) b;
+            } else if (b >= 0x80) {
+                // Caractère non ASCII : on repasse par le décodage UTF-8 pour cette ligne seulement
+                analyserLigneUnicode(octets, debut, longueur);
+                return;
+            } else {
+                rejetees++;
+                return;
+            }
+        }
+
+        acceptees++;
+        consommateur.accepter(tampon, longueur);
+    }
+
+    /**
+     * Chemin lent pour les lignes contenant des caractères accentués
+     * @param octets le tampon source
+     * @param debut début de la ligne (déjà débarrassée des espaces)
+     * @param longueur longueur de la ligne en octets
+     */
+    private void analyserLigneUnicode(ByteBuffer octets, int debut, int longueur) {
+        octets.get(debut, tampon, 0, longueur);
+        String mot = new String(tampon, 0, longueur, StandardCharsets.UTF_8);
+
+        // Un caractère Latin-1 tient toujours dans un octet : le tampon suffit
+        for (int i = 0; i < mot.length(); i++) {
+            char c = Alphabet.majuscule(mot.charAt(i));
+            if (c == Alphabet.NON_LETTRE) {
+                rejetees++;
+                return;
+            }
+            tampon[i] = (byte) c;
+        }
+
+        acceptees++;
+        consommateur.accepter(tampon, mot.length());
+    }
+}
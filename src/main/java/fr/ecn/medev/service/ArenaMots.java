@@ -0,0 +1,506 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.Alphabet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Stockage compact des mots : toutes les lettres (Latin-1) dans un seul tableau d'octets,
+ * une table des positions de début de chaque mot et un index de hachage qui garantit l'unicité
+ * Les ajouts n'écrivent jamais sous la taille courante : une copie figée (voir figer) peut donc
+ * partager les tableaux et être lue sans verrou pendant que l'arène d'origine continue de grandir.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class ArenaMots {
+
+    private static final int CAPACITE_INITIALE = 16;
+
+    private byte[] lettres;
+    private int[] debuts;
+    private int taille;
+
+    // Bit i positionné si le mot contient la lettre 'A' + i
+    private int[] masques;
+
+    // Adressage ouvert : chaque case contient indice + 1, 0 signifie case libre
+    private int[] table;
+
+    // Une arène figée est en lecture seule
+    private final boolean figee;
+
+    /**
+     * Constructeur d'une arène vide
+     */
+    ArenaMots() {
+        this.lettres = new byte[CAPACITE_INITIALE * 8];
+        this.debuts = new int[CAPACITE_INITIALE + 1];
+        this.taille = 0;
+        this.masques = new int[CAPACITE_INITIALE];
+        this.table = new int[CAPACITE_INITIALE * 2];
+        this.figee = false;
+    }
+
+    /**
+     * Constructeur d'une copie figée partageant les tableaux d'une autre arène
+     * @param source l'arène à figer
+     */
+    private ArenaMots(ArenaMots source) {
+        this.lettres = source.lettres;
+        this.debuts = source.debuts;
+        this.masques = source.masques;
+        this.table = source.table;
+        this.taille = source.taille;
+        this.figee = true;
+    }
+
+    /**
+     * Constructeur relisant les sections d'un dictionnaire binaire (copies en bloc, sans analyse)
+     * @param lecteur le lecteur positionné sur la section des lettres
+     * @param taille nombre de mots
+     * @param volume nombre d'octets de lettres
+     * @param capaciteTable taille de la table de hachage
+     * @throws IOException si le fichier est tronqué ou si ses sections sont incohérentes
+     */
+    ArenaMots(FichierDictionnaire.Lecteur lecteur, int taille, int volume, int capaciteTable) throws IOException {
+        if (taille < 0 || volume < 0 || Integer.bitCount(capaciteTable) != 1 || taille * 2L > capaciteTable) {
+            throw new IOException("En-tête de dictionnaire binaire incohérent");
+        }
+
+        this.taille = taille;
+        this.lettres = lecteur.lireOctets(volume, Math.max(volume, 1));
+        this.debuts = lecteur.lireEntiers(taille + 1, taille + 1);
+        this.masques = lecteur.lireEntiers(taille, Math.max(taille, 1));
+        this.table = lecteur.lireEntiers(capaciteTable, capaciteTable);
+        this.figee = false;
+
+        // Un fichier corrompu est refusé ici plutôt que par un accès hors limites plus tard
+        if (debuts[0] != 0 || debuts[taille] != volume) {
+            throw new IOException("Débuts de mots incohérents dans le dictionnaire binaire");
+        }
+        for (int i = 0; i < taille; i++) {
+            if (debuts[i + 1] < debuts[i]) {
+                throw new IOException("Débuts de mots incohérents dans le dictionnaire binaire");
+            }
+        }
+        for (int entree : table) {
+            if (entree < 0 || entree > taille) {
+                throw new IOException("Table de hachage incohérente dans le dictionnaire binaire");
+            }
+        }
+    }
+
+    /**
+     * Retourne une vue en lecture seule de l'état actuel, en O(1) et sans copie des tableaux
+     * Les mots ajoutés ensuite à cette arène ne sont pas visibles dans la vue.
+     * @return l'arène figée
+     */
+    ArenaMots figer() {
+        return new ArenaMots(this);
+    }
+
+    /**
+     * Ajoute un mot déjà normalisé (majuscules Latin-1) s'il n'est pas déjà présent
+     * @param source tampon contenant le mot
+     * @param debut position du mot dans le tampon
+     * @param longueur nombre d'octets du mot
+     * @return l'indice attribué au mot, ou -1 si le mot était déjà présent
+     */
+    int ajouter(byte[] source, int debut, int longueur) {
+        verifierModifiable();
+        return inserer(source, debut, longueur, hacher(source, debut, longueur), calculerMasque(source, debut, longueur));
+    }
+
+    /**
+     * Insère un mot dont le hachage et le masque de lettres sont déjà calculés
+     * @param source tampon contenant le mot
+     * @param debut position du mot dans le tampon
+     * @param longueur nombre d'octets du mot
+     * @param hachage le hachage du mot (voir hacher)
+     * @param masqueLettres le masque des lettres A-Z du mot
+     * @return l'indice attribué au mot, ou -1 si le mot était déjà présent
+     */
+    private int inserer(byte[] source, int debut, int longueur, int hachage, int masqueLettres) {
+        int masque = table.length - 1;
+        int caseLibre = hachage & masque;
+
+        while (table[caseLibre] != 0) {
+            if (estEgal(table[caseLibre] - 1, source, debut, longueur)) {
+                return -1;
+            }
+            caseLibre = (caseLibre + 1) & masque;
+        }
+
+        int fin = debuts[taille];
+        assurerCapacite(fin + longueur, taille + 1);
+
+        System.arraycopy(source, debut, lettres, fin, longueur);
+        debuts[taille + 1] = fin + longueur;
+        masques[taille] = masqueLettres;
+        table[caseLibre] = taille + 1;
+        taille++;
+
+        // Facteur de charge maximal de 1/2 pour garder des sondages courts
+        if (taille * 2 > table.length) {
+            redimensionnerTable(table.length * 2);
+        }
+        return taille - 1;
+    }
+
+    /**
+     * Ajoute un mot déjà normalisé dont tous les caractères sont en Latin-1
+     * @param mot le mot à ajouter
+     * @return l'indice attribué au mot, ou -1 si le mot était déjà présent
+     */
+    int ajouter(String mot) {
+        byte[] octets = mot.getBytes(StandardCharsets.ISO_8859_1);
+        return ajouter(octets, 0, octets.length);
+    }
+
+    /**
+     * Ajoute à la suite les mots d'une autre arène, en ignorant ceux déjà présents
+     * @param autre l'arène à recopier
+     * @return nombre de mots effectivement ajoutés
+     */
+    int ajouterTout(ArenaMots autre) {
+        return ajouterTout(autre, autre.hachages());
+    }
+
+    /**
+     * Ajoute à la suite les mots d'une autre arène dont les hachages sont déjà calculés
+     * Seuls le sondage de la table et la copie des lettres restent à faire : les hachages
+     * peuvent être calculés en parallèle, arène par arène, avant une fusion séquentielle.
+     * @param autre l'arène à recopier
+     * @param hachagesAutre le hachage de chaque mot de l'autre arène (voir hachages())
+     * @return nombre de mots effectivement ajoutés
+     * @throws IllegalArgumentException si le nombre de hachages ne correspond pas
+     */
+    int ajouterTout(ArenaMots autre, int[] hachagesAutre) {
+        verifierModifiable();
+        if (hachagesAutre.length != autre.taille) {
+            throw new IllegalArgumentException("Un hachage est attendu par mot");
+        }
+        int volume = autre.debuts[autre.taille];
+        assurerCapacite(debuts[taille] + volume, taille + autre.taille);
+        assurerCapaciteTable(taille + autre.taille);
+
+        int ajoutes = 0;
+        for (int i = 0; i < autre.taille; i++) {
+            int debut = autre.debuts[i];
+            if (inserer(autre.lettres, debut, autre.debuts[i + 1] - debut, hachagesAutre[i], autre.masques[i]) >= 0) {
+                ajoutes++;
+            }
+        }
+        return ajoutes;
+    }
+
+    /**
+     * Calcule le hachage de chaque mot, dans l'ordre des indices
+     * @return un tableau de taille() hachages
+     */
+    int[] hachages() {
+        int[] resultat = new int[taille];
+        for (int i = 0; i < taille; i++) {
+            int debut = debuts[i];
+            resultat[i] = hacher(lettres, debut, debuts[i + 1] - debut);
+        }
+        return resultat;
+    }
+
+    /**
+     * Recherche un mot via l'index de hachage
+     * @param mot tampon contenant le mot
+     * @param longueur nombre d'octets du mot
+     * @return l'indice du mot, ou -1 s'il est absent
+     */
+    int indexDe(byte[] mot, int longueur) {
+        int masque = table.length - 1;
+        int position = hacher(mot, 0, longueur) & masque;
+
+        while (table[position] != 0) {
+            int index = table[position] - 1;
+            // Case remplie après le figeage : elle était libre pour cette vue
+            if (index >= taille) {
+                return -1;
+            }
+            if (estEgal(index, mot, 0, longueur)) {
+                return index;
+            }
+            position = (position + 1) & masque;
+        }
+        return -1;
+    }
+
+    /**
+     * Compare le mot d'indice donné avec une portion de tampon
+     * @param index indice du mot
+     * @param mot tampon à comparer
+     * @param debut position du mot dans le tampon
+     * @param longueur nombre d'octets à comparer
+     * @return true si les deux mots sont identiques
+     */
+    private boolean estEgal(int index, byte[] mot, int debut, int longueur) {
+        int debutMot = debuts[index];
+        return debuts[index + 1] - debutMot == longueur
+                && Arrays.equals(lettres, debutMot, debutMot + longueur, mot, debut, debut + longueur);
+    }
+
+    /**
+     * Compare deux mots dans l'ordre des octets non signés (l'ordre alphabétique Latin-1)
+     * @param index indice du premier mot
+     * @param autre indice du second mot
+     * @return un entier négatif, nul ou positif comme Comparable.compareTo
+     */
+    int comparer(int index, int autre) {
+        return Arrays.compareUnsigned(lettres, debuts[index], debuts[index + 1],
+                lettres, debuts[autre], debuts[autre + 1]);
+    }
+
+    /**
+     * Compare un mot à une suite d'octets dans l'ordre des octets non signés
+     * @param index indice du mot
+     * @param octets les octets à comparer (majuscules Latin-1)
+     * @return un entier négatif, nul ou positif comme Comparable.compareTo
+     */
+    int comparer(int index, byte[] octets) {
+        return Arrays.compareUnsigned(lettres, debuts[index], debuts[index + 1], octets, 0, octets.length);
+    }
+
+    /**
+     * Vérifie si un mot commence par un préfixe
+     * @param index indice du mot
+     * @param prefixe le préfixe (majuscules Latin-1)
+     * @return true si le mot commence par ce préfixe
+     */
+    boolean commencePar(int index, byte[] prefixe) {
+        int debut = debuts[index];
+        return debuts[index + 1] - debut >= prefixe.length
+                && Arrays.equals(lettres, debut, debut + prefixe.length, prefixe, 0, prefixe.length);
+    }
+
+    /**
+     * Reconstruit le mot d'indice donné
+     * @param index indice du mot
+     * @return le mot sous forme de String
+     */
+    String mot(int index) {
+        int debut = debuts[index];
+        return new String(lettres, debut, debuts[index + 1] - debut, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Retourne la longueur du mot d'indice donné
+     * @param index indice du mot
+     * @return nombre de lettres
+     */
+    int longueur(int index) {
+        return debuts[index + 1] - debuts[index];
+    }
+
+    /**
+     * Retourne une lettre d'un mot
+     * @param index indice du mot
+     * @param position position de la lettre dans le mot
+     * @return la lettre (Latin-1)
+     */
+    char lettre(int index, int position) {
+        return (char) (lettres[debuts[index] + position] & 0xFF);
+    }
+
+    /**
+     * Retourne une lettre d'un mot sans son accent, telle que le joueur la propose
+     * @param index indice du mot
+     * @param position position de la lettre dans le mot
+     * @return la lettre repliée (voir Alphabet.replier), toujours dans le Latin-1
+     */
+    char lettreRepliee(int index, int position) {
+        return Alphabet.replier(lettre(index, position));
+    }
+
+    /**
+     * Retourne l'empreinte 64 bits d'un mot (voir empreinte(byte[], int, int))
+     * @param index indice du mot
+     * @return l'empreinte
+     */
+    long empreinte(int index) {
+        int debut = debuts[index];
+        return empreinte(lettres, debut, debuts[index + 1] - debut);
+    }
+
+    /**
+     * Retourne l'ensemble des lettres A-Z présentes dans un mot
+     * @param index indice du mot
+     * @return masque de 26 bits (bit i pour la lettre 'A' + i)
+     */
+    int masque(int index) {
+        return masques[index];
+    }
+
+    /**
+     * Retourne le nombre de mots stockés
+     * @return nombre de mots
+     */
+    int taille() {
+        return taille;
+    }
+
+    /**
+     * Retourne le nombre total d'octets de lettres
+     * @return volume des lettres
+     */
+    int volume() {
+        return debuts[taille];
+    }
+
+    /**
+     * Retourne la taille de la table de hachage
+     * @return nombre de cases de la table
+     */
+    int capaciteTable() {
+        return table.length;
+    }
+
+    /**
+     * Écrit les sections de l'arène au format binaire
+     * @param ecrivain destination
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void ecrire(FichierDictionnaire.Ecrivain ecrivain) throws IOException {
+        ecrivain.ecrireOctets(lettres, volume());
+        ecrivain.ecrireEntiers(debuts, taille + 1);
+        ecrivain.ecrireEntiers(masques, taille);
+
+        // Les cases remplies après le figeage n'appartiennent pas à cette vue
+        int[] tableVue = table.clone();
+        for (int i = 0; i < tableVue.length; i++) {
+            if (tableVue[i] > taille) {
+                tableVue[i] = 0;
+            }
+        }
+        ecrivain.ecrireEntiers(tableVue, tableVue.length);
+    }
+
+    /**
+     * Supprime tous les mots (de nouveaux tableaux sont alloués, les vues figées restent intactes)
+     */
+    void vider() {
+        verifierModifiable();
+
+        lettres = new byte[CAPACITE_INITIALE * 8];
+        debuts = new int[CAPACITE_INITIALE + 1];
+        masques = new int[CAPACITE_INITIALE];
+        table = new int[CAPACITE_INITIALE * 2];
+        taille = 0;
+    }
+
+    /**
+     * Prépare l'index pour recevoir un nombre de mots sans redimensionnement intermédiaire
+     * @param nombreMots nombre total de mots attendus
+     */
+    void assurerCapaciteTable(int nombreMots) {
+        verifierModifiable();
+        int capacite = table.length;
+        while (nombreMots * 2 > capacite) {
+            capacite *= 2;
+        }
+        if (capacite != table.length) {
+            redimensionnerTable(capacite);
+        }
+    }
+
+    /**
+     * Refuse toute modification d'une arène figée
+     * @throws IllegalStateException si l'arène est figée
+     */
+    private void verifierModifiable() {
+        if (figee) {
+            throw new IllegalStateException("Une arène figée est en lecture seule");
+        }
+    }
+
+    /**
+     * Reconstruit l'index de hachage avec une nouvelle capacité (puissance de 2)
+     * @param capacite nouvelle taille de la table
+     */
+    private void redimensionnerTable(int capacite) {
+        int[] nouvelle = new int[capacite];
+        int masque = capacite - 1;
+
+        for (int i = 0; i < taille; i++) {
+            int debut = debuts[i];
+            int position = hacher(lettres, debut, debuts[i + 1] - debut) & masque;
+            while (nouvelle[position] != 0) {
+                position = (position + 1) & masque;
+            }
+            nouvelle[position] = i + 1;
+        }
+        table = nouvelle;
+    }
+
+    /**
+     * Calcule le hachage FNV-1a d'une portion de tampon, mélangé pour l'adressage ouvert
+     * @param octets le tampon
+     * @param debut position de départ
+     * @param longueur nombre d'octets
+     * @return le hachage
+     */
+    static int hacher(byte[] octets, int debut, int longueur) {
+        int hachage = 0x811C9DC5;
+        for (int i = debut; i < debut + longueur; i++) {
+            hachage = (hachage ^ (octets[i] & 0xFF)) * 0x01000193;
+        }
+        return hachage ^ (hachage >>> 16);
+    }
+
+    /**
+     * Calcule une empreinte 64 bits (FNV-1a puis mélange), indépendante du hachage de la table
+     * @param octets le tampon
+     * @param debut position de départ
+     * @param longueur nombre d'octets
+     * @return l'empreinte
+     */
+    static long empreinte(byte[] octets, int debut, int longueur) {
+        long hachage = 0xCBF29CE484222325L;
+        for (int i = debut; i < debut + longueur; i++) {
+            hachage = (hachage ^ (octets[i] & 0xFF)) * 0x100000001B3L;
+        }
+        return PermutationFeistel.melanger(hachage);
+    }
+
+    /**
+     * Calcule le masque des lettres A-Z d'un mot
+     * @param octets le tampon
+     * @param debut position de départ
+     * @param longueur nombre d'octets
+     * @return le masque de 26 bits
+     */
+    private static int calculerMasque(byte[] octets, int debut, int longueur) {
+        int masque = 0;
+        for (int i = debut; i < debut + longueur; i++) {
+            int lettre = octets[i] - 'A';
+            if (lettre >= 0 && lettre < 26) {
+                masque |= 1 << lettre;
+            }
+        }
+        return masque;
+    }
+
+    /**
+     * Agrandit les tableaux si nécessaire (croissance géométrique)
+     * @param volumeLettres nombre d'octets de lettres requis
+     * @param nombreMots nombre de mots requis
+     */
+    private void assurerCapacite(int volumeLettres, int nombreMots) {
+        if (volumeLettres > lettres.length) {
+            lettres = Arrays.copyOf(lettres, Math.max(volumeLettres, lettres.length + (lettres.length >> 1)));
+        }
+        if (nombreMots + 1 > debuts.length) {
+            debuts = Arrays.copyOf(debuts, Math.max(nombreMots + 1, debuts.length + (debuts.length >> 1)));
+        }
+        if (nombreMots > masques.length) {
+            masques = Arrays.copyOf(masques, Math.max(nombreMots, masques.length + (masques.length >> 1)));
+        }
+    }
+}
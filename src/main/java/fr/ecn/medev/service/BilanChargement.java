@@ -0,0 +1,96 @@
+package fr.ecn.medev.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan d'un chargement multi-sources : lignes acceptées et rejetées pour chaque source lue
+ * @author Imane Laasri
+ * @version 1.0
+ */
+public final class BilanChargement {
+
+    /**
+     * Comptes d'une source (fichier, fichier compressé ou flux)
+     */
+    public static final class Source {
+        private final String nom;
+        private final long acceptees;
+        private final long rejetees;
+
+        Source(String nom, long acceptees, long rejetees) {
+            this.nom = nom;
+            this.acceptees = acceptees;
+            this.rejetees = rejetees;
+        }
+
+        /**
+         * @return le nom de la source (chemin du fichier ou nom donné au flux)
+         */
+        public String getNom() {
+            return nom;
+        }
+
+        /**
+         * @return nombre de lignes acceptées (doublons compris)
+         */
+        public long getAcceptees() {
+            return acceptees;
+        }
+
+        /**
+         * @return nombre de lignes non vides rejetées
+         */
+        public long getRejetees() {
+            return rejetees;
+        }
+
+        @Override
+        public String toString() {
+            return nom + " : " + acceptees + " acceptée(s), " + rejetees + " rejetée(s)";
+        }
+    }
+
+    private final List<Source> sources = new ArrayList<>();
+
+    BilanChargement() {
+    }
+
+    /**
+     * Enregistre le bilan d'une source
+     * @param source les comptes de la source
+     */
+    void ajouter(Source source) {
+        sources.add(source);
+    }
+
+    /**
+     * @return les sources lues, dans l'ordre de lecture
+     */
+    public List<Source> getSources() {
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * @return nombre total de lignes acceptées
+     */
+    public long getTotalAcceptees() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.acceptees;
+        }
+        return total;
+    }
+
+    /**
+     * @return nombre total de lignes rejetées
+     */
+    public long getTotalRejetees() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.rejetees;
+        }
+        return total;
+    }
+}
@@ -1,55 +1,267 @@
 package fr.ecn.medev.service;
 
+import fr.ecn.medev.model.Alphabet;
+import fr.ecn.medev.model.Difficulte;
+
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.security.SecureRandom;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 /**
  * Service de gestion du dictionnaire de mots pour le jeu du pendu
+ * Les lectures se font sur un instantané immuable publié de manière atomique : un rechargement
+ * construit le nouveau dictionnaire à part puis le substitue d'un coup, sans bloquer les lecteurs.
  * @author Imane Laasri
  * @version 1.0
  */
 public class DictionnaireService {
 
-    private final List<String> mots;
-    private final SecureRandom random;
+    /** Extension des dictionnaires précompilés */
+    public static final String EXTENSION_BINAIRE = ".dict";
+
+    private final SourceAleatoire random;
+
+    // Sérialise les écritures ; les lecteurs ne le prennent jamais
+    private final Object verrouEcriture = new Object();
+
+    // Côté écriture (protégé par verrouEcriture) : lettres de tous les mots (Latin-1)
+    // et groupes par longueur/difficulté, partagés en ajout seul avec les instantanés
+    private ArenaMots mots;
+    private RepartitionMots repartition;
+
+    // Côté lecture : dernier instantané publié
+    private volatile InstantaneDictionnaire instantane;
 
     /**
-     * Constructeur du service de dictionnaire
+     * Constructeur du service de dictionnaire (tirages rapides, un générateur par thread)
      */
     public DictionnaireService() {
-        this.mots = new ArrayList<>();
-        this.random = new SecureRandom();
+        this(SourceAleatoire.parThread());
+    }
+
+    /**
+     * Constructeur du service de dictionnaire avec une source de hasard choisie
+     * @param sourceAleatoire la source utilisée pour tirer les mots
+     * @throws IllegalArgumentException si la source est null
+     */
+    public DictionnaireService(SourceAleatoire sourceAleatoire) {
+        if (sourceAleatoire == null) {
+            throw new IllegalArgumentException("La source aléatoire ne peut pas être null");
+        }
+
+        this.random = sourceAleatoire;
+        remplacer(new ArenaMots());
     }
     
+    /**
+     * Charge le dictionnaire en privilégiant sa version précompilée
+     * Le fichier .dict voisin est utilisé s'il existe et n'est pas plus ancien que le texte ;
+     * sinon, ou s'il est illisible (tronqué, d'une autre version...), le fichier texte est lu
+     * par projection mémoire.
+     * @param cheminFichier le chemin du dictionnaire texte (ou directement du .dict)
+     * @throws IOException si aucun des deux fichiers n'est lisible
+     * @throws IllegalArgumentException si le dictionnaire est vide
+     */
+    public void charger(String cheminFichier) throws IOException {
+        Path texte = Paths.get(cheminFichier);
+        Path binaire = Paths.get(cheminCompile(cheminFichier));
+        boolean texteDisponible = !texte.equals(binaire) && Files.exists(texte);
+
+        boolean binaireAJour = Files.isRegularFile(binaire)
+                && (!texteDisponible || !Files.getLastModifiedTime(binaire).toInstant()
+                        .isBefore(Files.getLastModifiedTime(texte).toInstant()));
+
+        if (binaireAJour) {
+            try {
+                chargerDepuisBinaire(binaire.toString());
+                return;
+            } catch (IOException e) {
+                if (!texteDisponible) {
+                    throw e;
+                }
+            }
+        }
+        chargerDepuisFichierMappe(cheminFichier);
+    }
+
+    /**
+     * Charge un dictionnaire précompilé : les sections sont projetées en mémoire et copiées en bloc,
+     * sans analyse mot à mot ni reconstruction des index
+     * @param cheminFichier le chemin vers le fichier .dict
+     * @throws IOException si le fichier est illisible, tronqué ou d'une version non supportée
+     * @throws IllegalArgumentException si le dictionnaire est vide
+     */
+    public void chargerDepuisBinaire(String cheminFichier) throws IOException {
+        FichierDictionnaire.Contenu contenu = FichierDictionnaire.lire(Paths.get(cheminFichier));
+
+        verifierNonVide(contenu.arena);
+        remplacer(contenu.arena, contenu.repartition);
+    }
+
+    /**
+     * Écrit le dictionnaire courant au format binaire précompilé
+     * @param cheminFichier le fichier .dict à créer ou remplacer
+     * @throws IOException en cas d'erreur d'écriture
+     * @throws IllegalStateException si le dictionnaire est vide
+     */
+    public void compilerVers(String cheminFichier) throws IOException {
+        InstantaneDictionnaire courant = instantane;
+        if (courant.arena.taille() == 0) {
+            throw new IllegalStateException("Le dictionnaire est vide");
+        }
+
+        FichierDictionnaire.ecrire(courant.arena, courant.repartition, Paths.get(cheminFichier));
+    }
+
+    /**
+     * Retourne le chemin du dictionnaire précompilé associé à un fichier texte
+     * @param cheminFichier le chemin du fichier texte
+     * @return le même chemin avec l'extension .dict
+     */
+    public static String cheminCompile(String cheminFichier) {
+        if (cheminFichier.endsWith(EXTENSION_BINAIRE)) {
+            return cheminFichier;
+        }
+
+        int point = cheminFichier.lastIndexOf('.');
+        int separateur = Math.max(cheminFichier.lastIndexOf('/'), cheminFichier.lastIndexOf('\\'));
+        String base = point > separateur ? cheminFichier.substring(0, point) : cheminFichier;
+        return base + EXTENSION_BINAIRE;
+    }
+
     /**
      * Charge les mots depuis un fichier texte
+     * En cas d'erreur, le dictionnaire précédent reste en place.
      * @param cheminFichier le chemin vers le fichier dictionnaire
      * @throws IOException si le fichier n'existe pas ou est illisible
      * @throws IllegalArgumentException si le fichier est vide
      */
     public void chargerDepuisFichier(String cheminFichier) throws IOException {
-        mots.clear();
+        ArenaMots nouveauxMots = new ArenaMots();
         
         try (BufferedReader reader = new BufferedReader(new FileReader(cheminFichier))) {
             String ligne;
             while ((ligne = reader.readLine()) != null) {
-                ligne = ligne.trim().toUpperCase();
-                if (!ligne.isEmpty() && estMotValide(ligne)) {
-                    mots.add(ligne);
+                String motFormate = Alphabet.majuscules(ligne.trim());
+                if (motFormate != null) {
+                    nouveauxMots.ajouter(motFormate);
                 }
             }
         }
         
-        if (mots.isEmpty()) {
-            throw new IllegalArgumentException("Le fichier ne contient aucun mot valide");
-        }
+        verifierNonVide(nouveauxMots);
+        remplacer(nouveauxMots);
     }
     
+    /**
+     * Charge les mots depuis un fichier texte projeté en mémoire (adapté aux très gros fichiers)
+     * Les lignes sont découpées et validées directement sur les octets, puis recopiées
+     * dans l'arène sans créer de String. Les mots hors alphabet Latin-1 sont ignorés.
+     * @param cheminFichier le chemin vers le fichier dictionnaire (UTF-8 ou ASCII)
+     * @throws IOException si le fichier n'existe pas ou est illisible
+     * @throws IllegalArgumentException si le fichier est vide
+     */
+    public void chargerDepuisFichierMappe(String cheminFichier) throws IOException {
+        ArenaMots nouveauxMots = new ArenaMots();
+
+        AnalyseurLignes.analyserFichier(Paths.get(cheminFichier),
+                (lettres, longueur) -> nouveauxMots.ajouter(lettres, 0, longueur));
+
+        verifierNonVide(nouveauxMots);
+        remplacer(nouveauxMots);
+    }
+
+    /**
+     * Charge les mots depuis un fichier en parallélisant la validation sur tous les cœurs disponibles
+     * @param cheminFichier le chemin vers le fichier dictionnaire
+     * @throws IOException si le fichier n'existe pas ou est illisible
+     * @throws IllegalArgumentException si le fichier est vide
+     */
+    public void chargerDepuisFichierParallele(String cheminFichier) throws IOException {
+        chargerDepuisFichierParallele(cheminFichier, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Charge les mots depuis un fichier découpé en morceaux analysés sur un pool fork/join
+     * L'ordre des mots est celui du fichier, quel que soit le nombre de threads.
+     * @param cheminFichier le chemin vers le fichier dictionnaire
+     * @param parallelisme nombre de threads à utiliser
+     * @throws IOException si le fichier n'existe pas ou est illisible
+     * @throws IllegalArgumentException si le fichier est vide ou si le parallélisme est inférieur à 1
+     */
+    public void chargerDepuisFichierParallele(String cheminFichier, int parallelisme) throws IOException {
+        if (parallelisme < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être au moins 1");
+        }
+
+        ArenaMots nouveauxMots = new ArenaMots();
+
+        IngestionParallele.analyserFichier(Paths.get(cheminFichier), parallelisme, nouveauxMots);
+
+        verifierNonVide(nouveauxMots);
+        remplacer(nouveauxMots);
+    }
+
+    /**
+     * Charge les mots de plusieurs sources lues en continu, sans les charger entièrement en mémoire
+     * Chaque source peut être un fichier texte, un fichier compressé (.gz) ou un dossier dont tous
+     * les fichiers sont lus. Le dictionnaire n'est remplacé qu'une fois toutes les sources lues.
+     * @param chemins les fichiers ou dossiers à lire
+     * @return le nombre de lignes acceptées et rejetées pour chaque fichier lu
+     * @throws IOException si une source est illisible ou mal compressée
+     * @throws IllegalArgumentException si aucune source n'est donnée ou si aucun mot n'est valide
+     */
+    public BilanChargement chargerDepuisSources(String... chemins) throws IOException {
+        if (chemins == null || chemins.length == 0) {
+            throw new IllegalArgumentException("Aucune source à charger");
+        }
+
+        ArenaMots nouveauxMots = new ArenaMots();
+        BilanChargement bilan = new BilanChargement();
+        for (String chemin : chemins) {
+            IngestionFlux.analyserChemin(Paths.get(chemin), nouveauxMots, bilan);
+        }
+
+        verifierNonVide(nouveauxMots);
+        remplacer(nouveauxMots);
+        return bilan;
+    }
+
+    /**
+     * Charge les mots d'un flux quelconque (entrée standard, réseau...) lu en continu
+     * @param flux le flux UTF-8 ou ASCII, lu jusqu'au bout mais pas fermé
+     * @param nom nom de la source dans le bilan
+     * @return le nombre de lignes acceptées et rejetées
+     * @throws IOException en cas d'erreur de lecture
+     * @throws IllegalArgumentException si le flux est null ou ne contient aucun mot valide
+     */
+    public BilanChargement chargerDepuisFlux(InputStream flux, String nom) throws IOException {
+        if (flux == null) {
+            throw new IllegalArgumentException("Le flux ne peut pas être null");
+        }
+
+        ArenaMots nouveauxMots = new ArenaMots();
+        BilanChargement bilan = new BilanChargement();
+        bilan.ajouter(IngestionFlux.analyserFlux(flux, nom, nouveauxMots));
+
+        verifierNonVide(nouveauxMots);
+        remplacer(nouveauxMots);
+        return bilan;
+    }
+
     /**
      * Ajoute un mot au dictionnaire
      * @param mot le mot à ajouter
@@ -60,55 +272,448 @@ public class DictionnaireService {
             throw new IllegalArgumentException("Le mot ne peut pas être vide");
         }
         
-        String motFormate = mot.trim().toUpperCase();
+        String motFormate = Alphabet.majuscules(mot.trim());
         
-        if (!estMotValide(motFormate)) {
+        if (motFormate == null) {
             throw new IllegalArgumentException("Le mot contient des caractères invalides");
         }
         
-        if (!mots.contains(motFormate)) {
-            mots.add(motFormate);
+        synchronized (verrouEcriture) {
+            // L'index de hachage de l'arène ignore les doublons en O(1)
+            int id = mots.ajouter(motFormate);
+            if (id >= 0) {
+                repartition.ajouter(id);
+                publier(id);
+            }
         }
     }
-    
+
+    /**
+     * Ajoute une collection de mots en une seule passe, doublons compris
+     * Les mots invalides sont ignorés, comme lors du chargement d'un fichier.
+     * @param nouveauxMots les mots à ajouter
+     * @return nombre de mots effectivement ajoutés
+     * @throws IllegalArgumentException si la collection est null
+     */
+    public int ajouterMots(Collection<String> nouveauxMots) {
+        if (nouveauxMots == null) {
+            throw new IllegalArgumentException("La collection de mots ne peut pas être null");
+        }
+
+        synchronized (verrouEcriture) {
+            mots.assurerCapaciteTable(mots.taille() + nouveauxMots.size());
+            return ajouterMots(nouveauxMots.stream());
+        }
+    }
+
     /**
-     * Vérifie si un mot est valide (uniquement des lettres)
-     * @param mot le mot à vérifier
-     * @return true si le mot est valide
+     * Ajoute un flux de mots en une seule passe, doublons compris
+     * Les mots invalides sont ignorés, comme lors du chargement d'un fichier.
+     * @param nouveauxMots les mots à ajouter
+     * @return nombre de mots effectivement ajoutés
+     * @throws IllegalArgumentException si le flux est null
      */
-    private boolean estMotValide(String mot) {
-        if (mot == null || mot.isEmpty()) {
+    public int ajouterMots(Stream<String> nouveauxMots) {
+        if (nouveauxMots == null) {
+            throw new IllegalArgumentException("Le flux de mots ne peut pas être null");
+        }
+
+        synchronized (verrouEcriture) {
+            int premierId = mots.taille();
+            Iterator<String> iterateur = nouveauxMots.iterator();
+            while (iterateur.hasNext()) {
+                String mot = iterateur.next();
+                if (mot == null) {
+                    continue;
+                }
+
+                String motFormate = Alphabet.majuscules(mot.trim());
+                int id = motFormate != null ? mots.ajouter(motFormate) : -1;
+                if (id >= 0) {
+                    repartition.ajouter(id);
+                }
+            }
+
+            // Un seul instantané publié pour tout le lot
+            int ajoutes = mots.taille() - premierId;
+            if (ajoutes > 0) {
+                publier(premierId);
+            }
+            return ajoutes;
+        }
+    }
+
+    /**
+     * Publie un instantané après des ajouts (appelé sous verrouEcriture)
+     * Le filtre, les statistiques, l'index des motifs et le graphe des mots, s'ils existent,
+     * sont prolongés sans être reconstruits ; sinon ils restent à construire à la demande.
+     * @param premierId indice du premier mot ajouté depuis le dernier instantané
+     */
+    private void publier(int premierId) {
+        // Un filtre devenu trop petit est abandonné : il sera redimensionné à la demande
+        FiltreBloom filtre = instantane.filtreSiConstruit();
+        if (filtre != null && mots.taille() > filtre.capacite()) {
+            filtre = null;
+        }
+        if (filtre != null) {
+            for (int id = premierId; id < mots.taille(); id++) {
+                filtre.ajouter(mots.empreinte(id));
+            }
+        }
+
+        StatistiquesLettres statistiques = instantane.statistiquesSiConstruites();
+        IndexMotifs index = instantane.indexMotifsSiConstruit();
+        GrapheMots graphe = instantane.grapheSiConstruit();
+        ArenaMots arenaFigee = mots.figer();
+
+        // Un graphe qui laisse trop de mots à côté de lui est abandonné : il sera reconstruit à la demande
+        instantane = new InstantaneDictionnaire(arenaFigee, repartition.figer(), filtre,
+                statistiques == null ? null : statistiques.avec(arenaFigee, premierId),
+                index == null ? null : index.avec(arenaFigee, premierId),
+                graphe == null ? null : graphe.avec(arenaFigee, premierId));
+    }
+
+    /**
+     * Substitue d'un bloc de nouveaux mots au dictionnaire courant
+     * @param nouveauxMots l'arène construite hors verrou
+     */
+    private void remplacer(ArenaMots nouveauxMots) {
+        remplacer(nouveauxMots, new RepartitionMots(nouveauxMots));
+    }
+
+    /**
+     * Substitue d'un bloc de nouveaux mots et leur répartition au dictionnaire courant
+     * @param nouveauxMots l'arène construite hors verrou
+     * @param nouvelleRepartition sa répartition
+     */
+    private void remplacer(ArenaMots nouveauxMots, RepartitionMots nouvelleRepartition) {
+        // Ni filtre ni statistiques ici : un chargement binaire ne refait aucun parcours des mots,
+        // ils sont construits à la première requête qui en a besoin
+        ArenaMots arenaFigee = nouveauxMots.figer();
+
+        synchronized (verrouEcriture) {
+            mots = nouveauxMots;
+            repartition = nouvelleRepartition;
+            instantane = new InstantaneDictionnaire(arenaFigee, repartition.figer(), null,
+                    null, null, null);
+        }
+    }
+
+    /**
+     * Refuse un chargement qui n'a produit aucun mot
+     * @param nouveauxMots les mots chargés
+     * @throws IllegalArgumentException si aucun mot n'a été chargé
+     */
+    private static void verifierNonVide(ArenaMots nouveauxMots) {
+        if (nouveauxMots.taille() == 0) {
+            throw new IllegalArgumentException("Le fichier ne contient aucun mot valide");
+        }
+    }
+
+    /**
+     * Vérifie si un mot appartient au dictionnaire
+     * Un filtre de Bloom écarte la plupart des mots absents sans consulter le stockage des mots ;
+     * seuls les mots qu'il laisse passer sont vérifiés exactement.
+     * @param mot le mot à chercher (casse et espaces autour indifférents)
+     * @return true si le mot est dans le dictionnaire, false sinon (y compris pour null ou un mot invalide)
+     */
+    public boolean contient(String mot) {
+        if (mot == null) {
             return false;
         }
-        
-        for (char c : mot.toCharArray()) {
-            if (!Character.isLetter(c)) {
-                return false;
+
+        String motFormate = Alphabet.majuscules(mot.trim());
+        if (motFormate == null) {
+            return false;
+        }
+
+        byte[] octets = motFormate.getBytes(StandardCharsets.ISO_8859_1);
+        InstantaneDictionnaire courant = instantane;
+        if (!courant.filtre().peutContenir(ArenaMots.empreinte(octets, 0, octets.length))) {
+            return false;
+        }
+        return courant.arena.indexDe(octets, octets.length) >= 0;
+    }
+
+    /**
+     * Recherche tous les mots compatibles avec un masque au format de InstantanePartie.getMotAffiche
+     * Les lettres sont comparées sans accent, comme au jeu : une lettre révélée l'étant à toutes
+     * ses positions (variantes accentuées comprises), elle ne peut pas figurer sous un '_'.
+     * @param masque le masque, par exemple "A _ G _ _" (espaces facultatifs)
+     * @param lettresExclues lettres proposées absentes du mot (peut être null)
+     * @return les mots compatibles, dans l'ordre du dictionnaire
+     * @throws IllegalArgumentException si le masque est vide ou contient autre chose que des lettres et '_'
+     */
+    public List<String> rechercherMotif(String masque, Set<Character> lettresExclues) {
+        if (masque == null || masque.isBlank()) {
+            throw new IllegalArgumentException("Le masque ne peut pas être vide");
+        }
+
+        char[] motif = new char[masque.length()];
+        int longueur = 0;
+        for (int i = 0; i < masque.length(); i++) {
+            char c = masque.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            if (c == '_') {
+                motif[longueur++] = 0;
+            } else {
+                motif[longueur++] = lettreRepliee(c);
             }
         }
-        return true;
+
+        boolean[] exclues = new boolean[256];
+        if (lettresExclues != null) {
+            for (char c : lettresExclues) {
+                exclues[lettreRepliee(c)] = true;
+            }
+        }
+
+        return instantane.indexMotifs().rechercher(Arrays.copyOf(motif, longueur), exclues);
     }
-    
+
+    /**
+     * Retourne les mots commençant par un préfixe, dans l'ordre alphabétique
+     * La recherche se fait sur le graphe minimal des mots (DAWG), construit à la première requête
+     * puis prolongé à chaque ajout.
+     * @param prefixe le préfixe (vide pour tous les mots)
+     * @return les mots trouvés
+     * @throws IllegalArgumentException si le préfixe est null ou contient autre chose que des lettres
+     */
+    public List<String> rechercherPrefixe(String prefixe) {
+        return rechercherPrefixe(prefixe, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retourne au plus un certain nombre de mots commençant par un préfixe (suggestions)
+     * @param prefixe le préfixe (vide pour tous les mots)
+     * @param limite nombre maximal de mots retournés
+     * @return les premiers mots trouvés, dans l'ordre alphabétique
+     * @throws IllegalArgumentException si le préfixe est invalide ou la limite négative
+     */
+    public List<String> rechercherPrefixe(String prefixe, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("La limite ne peut pas être négative");
+        }
+        return instantane.graphe().enumerer(normaliserPrefixe(prefixe), limite);
+    }
+
+    /**
+     * Compte les mots commençant par un préfixe, sans les énumérer
+     * @param prefixe le préfixe (vide pour tous les mots)
+     * @return le nombre de mots
+     * @throws IllegalArgumentException si le préfixe est invalide
+     */
+    public int compterPrefixe(String prefixe) {
+        return instantane.graphe().compter(normaliserPrefixe(prefixe));
+    }
+
+    /**
+     * Retourne un mot aléatoire commençant par un préfixe
+     * @param prefixe le préfixe
+     * @return un mot tiré uniformément parmi ceux du préfixe
+     * @throws IllegalArgumentException si le préfixe est invalide
+     * @throws IllegalStateException si aucun mot ne commence par ce préfixe
+     */
+    public String obtenirMotAleatoireCommencantPar(String prefixe) {
+        String prefixeNormalise = normaliserPrefixe(prefixe);
+        GrapheMots graphe = instantane.graphe();
+
+        int nombre = graphe.compter(prefixeNormalise);
+        if (nombre == 0) {
+            throw new IllegalStateException("Aucun mot ne commence par " + prefixeNormalise);
+        }
+        return graphe.kieme(prefixeNormalise, random.tirer(nombre));
+    }
+
+    /**
+     * Met un préfixe en majuscules Latin-1
+     * @param prefixe le préfixe saisi
+     * @return le préfixe normalisé
+     * @throws IllegalArgumentException si le préfixe est null ou contient autre chose que des lettres
+     */
+    private String normaliserPrefixe(String prefixe) {
+        if (prefixe == null) {
+            throw new IllegalArgumentException("Le préfixe ne peut pas être null");
+        }
+
+        String prefixeNettoye = prefixe.trim();
+        char[] lettres = new char[prefixeNettoye.length()];
+        for (int i = 0; i < lettres.length; i++) {
+            lettres[i] = lettreIndexable(prefixeNettoye.charAt(i));
+        }
+        return new String(lettres);
+    }
+
+    /**
+     * Convertit une lettre de masque en majuscule Latin-1
+     * @param c le caractère à convertir
+     * @return la lettre en majuscule
+     * @throws IllegalArgumentException si le caractère n'est pas une lettre Latin-1
+     */
+    private char lettreIndexable(char c) {
+        char lettreMaj = Alphabet.majuscule(c);
+        if (lettreMaj == Alphabet.NON_LETTRE) {
+            throw new IllegalArgumentException("Caractère invalide dans le motif : " + c);
+        }
+        return lettreMaj;
+    }
+
+    /**
+     * Ramène une lettre de motif ou de comptage à sa lettre de base, comme une proposition du joueur
+     * @param c le caractère à convertir
+     * @return la lettre repliée (majuscule sans accent)
+     * @throws IllegalArgumentException si le caractère n'est pas une lettre Latin-1
+     */
+    private char lettreRepliee(char c) {
+        char lettre = Alphabet.replier(Alphabet.majuscule(c));
+        if (lettre == Alphabet.NON_LETTRE) {
+            throw new IllegalArgumentException("Caractère invalide dans le motif : " + c);
+        }
+        return lettre;
+    }
+
     /**
      * Sélectionne un mot aléatoire du dictionnaire
      * @return un mot aléatoire
      * @throws IllegalStateException si le dictionnaire est vide
      */
     public String obtenirMotAleatoire() {
-        if (mots.isEmpty()) {
+        ArenaMots courant = instantane.arena;
+        if (courant.taille() == 0) {
             throw new IllegalStateException("Le dictionnaire est vide");
         }
         
-        int index = random.nextInt(mots.size());
-        return mots.get(index);
+        int index = random.tirer(courant.taille());
+        return courant.mot(index);
     }
-    
+
+    /**
+     * Sélectionne un mot aléatoire dont la longueur est comprise entre deux bornes
+     * Le tirage se fait en temps constant grâce aux groupes par longueur précalculés.
+     * @param longueurMin longueur minimale incluse
+     * @param longueurMax longueur maximale incluse
+     * @return un mot aléatoire de longueur comprise dans l'intervalle
+     * @throws IllegalArgumentException si l'intervalle est invalide
+     * @throws IllegalStateException si aucun mot n'a une longueur dans l'intervalle
+     */
+    public String obtenirMotAleatoire(int longueurMin, int longueurMax) {
+        if (longueurMin < 1 || longueurMax < longueurMin) {
+            throw new IllegalArgumentException("Intervalle de longueurs invalide");
+        }
+
+        InstantaneDictionnaire courant = instantane;
+        int index = courant.repartition.tirer(longueurMin, longueurMax, random);
+        if (index < 0) {
+            throw new IllegalStateException("Aucun mot de " + longueurMin + " à " + longueurMax + " lettres");
+        }
+        return courant.arena.mot(index);
+    }
+
+    /**
+     * Sélectionne un mot aléatoire d'un niveau de difficulté donné, en temps constant
+     * @param difficulte le niveau voulu
+     * @return un mot aléatoire de ce niveau
+     * @throws IllegalArgumentException si la difficulté est null
+     * @throws IllegalStateException si aucun mot n'a ce niveau
+     */
+    public String obtenirMotAleatoire(Difficulte difficulte) {
+        if (difficulte == null) {
+            throw new IllegalArgumentException("La difficulté ne peut pas être null");
+        }
+
+        InstantaneDictionnaire courant = instantane;
+        int index = courant.repartition.tirer(difficulte, random);
+        if (index < 0) {
+            throw new IllegalStateException("Aucun mot de difficulté " + difficulte);
+        }
+        return courant.arena.mot(index);
+    }
+
+    /**
+     * Retourne le mot suivant de la rotation d'un joueur, puis avance son curseur
+     * Les mots sont parcourus dans un ordre pseudo-aléatoire propre à la graine du joueur :
+     * aucun mot ne revient avant que tous aient été tirés, puis un nouvel ordre commence.
+     * La garantie porte sur un dictionnaire de taille constante pendant la rotation.
+     * @param rotation la rotation du joueur
+     * @return le mot tiré
+     * @throws IllegalArgumentException si la rotation est null
+     * @throws IllegalStateException si le dictionnaire est vide
+     */
+    public String obtenirMotSansRepetition(RotationJoueur rotation) {
+        if (rotation == null) {
+            throw new IllegalArgumentException("La rotation ne peut pas être null");
+        }
+
+        ArenaMots courant = instantane.arena;
+        int taille = courant.taille();
+        if (taille == 0) {
+            throw new IllegalStateException("Le dictionnaire est vide");
+        }
+
+        long position = rotation.avancer();
+        long tour = position / taille;
+        long cle = PermutationFeistel.melanger(rotation.getGraine() ^ PermutationFeistel.melanger(tour));
+        return courant.mot(PermutationFeistel.permuter((int) (position % taille), taille, cle));
+    }
+
+    /**
+     * Retourne le nombre de mots d'une longueur donnée, en temps constant
+     * @param longueur la longueur de mot
+     * @return nombre de mots de cette longueur
+     * @throws IllegalArgumentException si la longueur est négative
+     */
+    public int compterMotsDeLongueur(int longueur) {
+        verifierLongueur(longueur);
+        return instantane.statistiques().nombreMots(longueur);
+    }
+
+    /**
+     * Retourne le nombre de mots d'une longueur donnée contenant une lettre, en temps constant
+     * @param longueur la longueur de mot
+     * @param lettre la lettre (casse et accents indifférents)
+     * @return nombre de mots contenant la lettre au moins une fois
+     * @throws IllegalArgumentException si la longueur est négative ou si le caractère n'est pas une lettre
+     */
+    public int compterMotsContenant(int longueur, char lettre) {
+        verifierLongueur(longueur);
+        return instantane.statistiques().motsContenant(longueur, lettreRepliee(lettre));
+    }
+
+    /**
+     * Retourne le nombre de mots d'une longueur donnée ayant une lettre à une position, en temps constant
+     * @param longueur la longueur de mot
+     * @param position la position dans le mot, à partir de 0
+     * @param lettre la lettre (casse et accents indifférents)
+     * @return nombre de mots ayant cette lettre à cette position
+     * @throws IllegalArgumentException si la position est hors du mot ou si le caractère n'est pas une lettre
+     */
+    public int compterMotsAvecLettreEn(int longueur, int position, char lettre) {
+        verifierLongueur(longueur);
+        if (position < 0 || position >= longueur) {
+            throw new IllegalArgumentException("Position hors du mot : " + position);
+        }
+        return instantane.statistiques().motsAvecLettreEn(longueur, position, lettreRepliee(lettre));
+    }
+
+    /**
+     * Refuse une longueur de mot négative
+     * @param longueur la longueur à vérifier
+     * @throws IllegalArgumentException si la longueur est négative
+     */
+    private static void verifierLongueur(int longueur) {
+        if (longueur < 0) {
+            throw new IllegalArgumentException("La longueur ne peut pas être négative");
+        }
+    }
+
     /**
      * Retourne le nombre de mots dans le dictionnaire
      * @return nombre de mots
      */
     public int getNombreMots() {
-        return mots.size();
+        return instantane.arena.taille();
     }
     
     /**
@@ -116,19 +721,48 @@ public class DictionnaireService {
      * @return true si vide
      */
     public boolean estVide() {
-        return mots.isEmpty();
+        return instantane.arena.taille() == 0;
     }
     
     /**
      * Retourne la liste des mots du dictionnaire
+     * Pour un simple parcours, préférer getVueMots ou flux, qui ne recopient rien.
      * @return copie de la liste des mots
      */
     public List<String> getMots() {
-        return new ArrayList<>(mots);
+        return new ArrayList<>(getVueMots());
+    }
+
+    /**
+     * Retourne une vue non modifiable des mots, en O(1) et sans copie
+     * La vue reflète le dictionnaire au moment de l'appel : les ajouts et rechargements
+     * ultérieurs ne la modifient pas. L'accès par indice est en temps constant.
+     * @return les mots, dans l'ordre du dictionnaire
+     */
+    public List<String> getVueMots() {
+        return new VueMots(instantane.arena);
+    }
+
+    /**
+     * Retourne le mot d'indice donné
+     * @param index indice du mot, dans l'ordre du dictionnaire
+     * @return le mot
+     * @throws IndexOutOfBoundsException si l'indice est hors du dictionnaire
+     */
+    public String getMot(int index) {
+        return getVueMots().get(index);
+    }
+
+    /**
+     * Retourne un flux des mots, sans copie ; en parallèle, il se découpe en moitiés exactes
+     * @return le flux des mots, dans l'ordre du dictionnaire
+     */
+    public Stream<String> flux() {
+        return getVueMots().stream();
     }
     
     // Manque Javadoc (pour SonarCloud)
     public void vider() {
-        mots.clear();
+        remplacer(new ArenaMots());
     }
 }
\ No newline at end of file
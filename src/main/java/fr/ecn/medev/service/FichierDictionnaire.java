@@ -0,0 +1,252 @@
+package fr.ecn.medev.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Format binaire précompilé d'un dictionnaire (.dict), relu par projection mémoire
+ * Toutes les valeurs sont en petit-boutiste. Après l'en-tête de 32 octets viennent, dans l'ordre :
+ * les lettres (complétées à un multiple de 4), les débuts de mots, les masques de lettres,
+ * la table de hachage, puis les groupes par longueur et par difficulté (tailles, puis indices).
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class FichierDictionnaire {
+
+    /** Signature "PDIC" en tête de fichier */
+    static final int MAGIQUE = 0x43494450;
+
+    /** Version courante du format, à incrémenter à chaque changement de disposition */
+    static final int VERSION = 2;
+
+    static final int TAILLE_EN_TETE = 32;
+
+    /**
+     * Contenu relu depuis un fichier binaire
+     */
+    static final class Contenu {
+        final ArenaMots arena;
+        final RepartitionMots repartition;
+
+        private Contenu(ArenaMots arena, RepartitionMots repartition) {
+            this.arena = arena;
+            this.repartition = repartition;
+        }
+    }
+
+    /**
+     * Écriture séquentielle de sections dans un canal, via un tampon intermédiaire
+     */
+    static final class Ecrivain {
+        private final FileChannel canal;
+        private final ByteBuffer tampon;
+
+        private Ecrivain(FileChannel canal) {
+            this.canal = canal;
+            this.tampon = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Écrit une portion de tableau d'octets puis complète à un multiple de 4
+         * @param octets le tableau
+         * @param longueur nombre d'octets à écrire depuis le début
+         * @throws IOException en cas d'erreur d'écriture
+         */
+        void ecrireOctets(byte[] octets, int longueur) throws IOException {
+            int position = 0;
+            while (position < longueur) {
+                if (!tampon.hasRemaining()) {
+                    vider();
+                }
+                int bloc = Math.min(tampon.remaining(), longueur - position);
+                tampon.put(octets, position, bloc);
+                position += bloc;
+            }
+            for (int i = longueur; (i & 3) != 0; i++) {
+                if (!tampon.hasRemaining()) {
+                    vider();
+                }
+                tampon.put((byte) 0);
+            }
+        }
+
+        /**
+         * Écrit une portion de tableau d'entiers par blocs
+         * @param entiers le tableau
+         * @param longueur nombre d'entiers à écrire depuis le début
+         * @throws IOException en cas d'erreur d'écriture
+         */
+        void ecrireEntiers(int[] entiers, int longueur) throws IOException {
+            int position = 0;
+            while (position < longueur) {
+                if (tampon.remaining() < Integer.BYTES) {
+                    vider();
+                }
+                IntBuffer vue = tampon.asIntBuffer();
+                int bloc = Math.min(vue.remaining(), longueur - position);
+                vue.put(entiers, position, bloc);
+                tampon.position(tampon.position() + bloc * Integer.BYTES);
+                position += bloc;
+            }
+        }
+
+        /**
+         * Écrit un entier isolé
+         * @param valeur la valeur
+         * @throws IOException en cas d'erreur d'écriture
+         */
+        void ecrireEntier(int valeur) throws IOException {
+            if (tampon.remaining() < Integer.BYTES) {
+                vider();
+            }
+            tampon.putInt(valeur);
+        }
+
+        /**
+         * Transmet au canal le contenu du tampon
+         * @throws IOException en cas d'erreur d'écriture
+         */
+        void vider() throws IOException {
+            tampon.flip();
+            while (tampon.hasRemaining()) {
+                canal.write(tampon);
+            }
+            tampon.clear();
+        }
+    }
+
+    /**
+     * Lecture séquentielle de sections : chacune est projetée en mémoire puis recopiée en bloc
+     */
+    static final class Lecteur {
+        private final FileChannel canal;
+        private long position;
+
+        private Lecteur(FileChannel canal, long position) {
+            this.canal = canal;
+            this.position = position;
+        }
+
+        /**
+         * Lit une section d'octets (et saute le remplissage éventuel)
+         * @param longueur nombre d'octets utiles
+         * @param capacite taille du tableau à allouer (au moins longueur)
+         * @return le tableau relu
+         * @throws IOException si le fichier est tronqué
+         */
+        byte[] lireOctets(int longueur, int capacite) throws IOException {
+            byte[] octets = new byte[capacite];
+            projeter(longueur).get(octets, 0, longueur);
+            position += (4 - (longueur & 3)) & 3;
+            return octets;
+        }
+
+        /**
+         * Lit une section d'entiers
+         * @param longueur nombre d'entiers à lire
+         * @param capacite taille du tableau à allouer (au moins longueur)
+         * @return le tableau relu
+         * @throws IOException si le fichier est tronqué
+         */
+        int[] lireEntiers(int longueur, int capacite) throws IOException {
+            int[] entiers = new int[capacite];
+            projeter((long) longueur * Integer.BYTES).asIntBuffer().get(entiers, 0, longueur);
+            return entiers;
+        }
+
+        private ByteBuffer projeter(long longueur) throws IOException {
+            if (position + longueur > canal.size()) {
+                throw new IOException("Dictionnaire binaire tronqué");
+            }
+            ByteBuffer section = canal.map(FileChannel.MapMode.READ_ONLY, position, longueur)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            position += longueur;
+            return section;
+        }
+    }
+
+    private FichierDictionnaire() {
+    }
+
+    /**
+     * Écrit un dictionnaire au format binaire
+     * Le fichier est d'abord écrit à côté de la destination puis renommé d'un bloc : un lecteur
+     * ne voit jamais qu'un ancien fichier complet ou le nouveau, même si l'écriture échoue.
+     * @param arena les mots et leur index
+     * @param repartition les groupes par longueur et difficulté
+     * @param chemin le fichier de destination (remplacé s'il existe)
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    static void ecrire(ArenaMots arena, RepartitionMots repartition, Path chemin) throws IOException {
+        Path dossier = chemin.toAbsolutePath().getParent();
+        Path temporaire = Files.createTempFile(dossier, chemin.getFileName().toString(), ".tmp");
+        try {
+            ecrireSections(arena, repartition, temporaire);
+            Files.move(temporaire, chemin, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+    }
+
+    private static void ecrireSections(ArenaMots arena, RepartitionMots repartition, Path chemin)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            Ecrivain ecrivain = new Ecrivain(canal);
+
+            ecrivain.ecrireEntier(MAGIQUE);
+            ecrivain.ecrireEntier(VERSION);
+            ecrivain.ecrireEntier(arena.taille());
+            ecrivain.ecrireEntier(arena.volume());
+            ecrivain.ecrireEntier(arena.capaciteTable());
+            ecrivain.ecrireEntier(repartition.nombreLongueurs());
+            ecrivain.ecrireEntier(0);
+            ecrivain.ecrireEntier(0);
+
+            arena.ecrire(ecrivain);
+            repartition.ecrire(ecrivain);
+            ecrivain.vider();
+        }
+    }
+
+    /**
+     * Relit un dictionnaire binaire : aucune ligne n'est analysée, les sections sont copiées en bloc
+     * @param chemin le fichier .dict
+     * @return l'arène et la répartition relues
+     * @throws IOException si le fichier est illisible, tronqué ou d'un autre format/version
+     */
+    static Contenu lire(Path chemin) throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            if (canal.size() < TAILLE_EN_TETE) {
+                throw new IOException("Dictionnaire binaire tronqué");
+            }
+
+            ByteBuffer enTete = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAILLE_EN_TETE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (enTete.getInt() != MAGIQUE) {
+                throw new IOException("Ce fichier n'est pas un dictionnaire binaire : " + chemin);
+            }
+            int version = enTete.getInt();
+            if (version != VERSION) {
+                throw new IOException("Version de dictionnaire binaire non supportée : " + version);
+            }
+
+            int nombreMots = enTete.getInt();
+            int volume = enTete.getInt();
+            int capaciteTable = enTete.getInt();
+            int nombreLongueurs = enTete.getInt();
+
+            Lecteur lecteur = new Lecteur(canal, TAILLE_EN_TETE);
+            ArenaMots arena = new ArenaMots(lecteur, nombreMots, volume, capaciteTable);
+            RepartitionMots repartition = new RepartitionMots(arena, lecteur, nombreLongueurs);
+            return new Contenu(arena, repartition);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fr.ecn.medev.service;
+
+/**
+ * Filtre de Bloom sur les empreintes des mots : répond « absent » avec certitude ou « peut-être présent »
+ * Le filtre est dimensionné pour une capacité donnée avec environ 1 % de faux positifs.
+ * Les bits ne font que passer de 0 à 1 : un lecteur concurrent peut voir un bit en avance
+ * (faux positif, écarté par la vérification exacte) mais jamais perdre un bit publié avant lui.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class FiltreBloom {
+
+    private static final double TAUX_FAUX_POSITIFS = 0.01;
+
+    private static final int CAPACITE_MIN = 1024;
+
+    private final long[] bits;
+    private final int masque;
+    private final int nombreHachages;
+    private final int capacite;
+
+    /**
+     * Constructeur d'un filtre vide
+     * @param capacite nombre de mots prévus (au moins CAPACITE_MIN)
+     */
+    FiltreBloom(int capacite) {
+        this.capacite = Math.max(CAPACITE_MIN, capacite);
+
+        // m = -n ln p / (ln 2)², arrondi à la puissance de 2 supérieure pour indexer par masque
+        double bitsOptimaux = -this.capacite * Math.log(TAUX_FAUX_POSITIFS) / (Math.log(2) * Math.log(2));
+        long nombreBits = Long.highestOneBit((long) Math.ceil(bitsOptimaux) - 1) << 1;
+        nombreBits = Math.min(nombreBits, 1L << 31);
+
+        this.bits = new long[(int) (nombreBits >>> 6)];
+        this.masque = (int) (nombreBits - 1);
+        this.nombreHachages = (int) Math.max(1, Math.min(16,
+                Math.round((double) nombreBits / this.capacite * Math.log(2))));
+    }
+
+    /**
+     * Construit un filtre contenant tous les mots d'une arène, avec de la marge pour les ajouts
+     * @param arena l'arène
+     * @return le filtre
+     */
+    static FiltreBloom pour(ArenaMots arena) {
+        FiltreBloom filtre = new FiltreBloom(arena.taille() * 2);
+        for (int id = 0; id < arena.taille(); id++) {
+            filtre.ajouter(arena.empreinte(id));
+        }
+        return filtre;
+    }
+
+    /**
+     * Ajoute une empreinte (réservé à l'unique écrivain)
+     * @param empreinte l'empreinte du mot
+     */
+    void ajouter(long empreinte) {
+        int h1 = (int) empreinte;
+        int h2 = (int) (empreinte >>> 32) | 1;
+        for (int i = 0; i < nombreHachages; i++) {
+            int bit = (h1 + i * h2) & masque;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Teste une empreinte
+     * @param empreinte l'empreinte du mot
+     * @return false si le mot est certainement absent, true s'il est peut-être présent
+     */
+    boolean peutContenir(long empreinte) {
+        int h1 = (int) empreinte;
+        int h2 = (int) (empreinte >>> 32) | 1;
+        for (int i = 0; i < nombreHachages; i++) {
+            int bit = (h1 + i * h2) & masque;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return nombre de mots au-delà duquel le taux de faux positifs se dégrade
+     */
+    int capacite() {
+        return capacite;
+    }
+}
@@ -1,18 +1,69 @@
 package fr.ecn.medev.service;
 
+import fr.ecn.medev.model.Difficulte;
+import fr.ecn.medev.model.InstantanePartie;
 import fr.ecn.medev.model.PartieJeu;
+import fr.ecn.medev.model.ResultatPropositions;
 import fr.ecn.medev.model.EtatPartie;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
 /**
  * Gestionnaire orchestrant les parties de pendu
+ * Plusieurs parties peuvent se jouer en même temps, chacune dans sa session. Les sessions
+ * sont rangées dans une table concurrente et chacune a son propre verrou : deux sessions
+ * différentes ne se bloquent jamais. Les méthodes sans identifiant de session jouent dans
+ * la session SESSION_PAR_DEFAUT.
+ * Une fois l'expiration activée, les sessions inactives ou trop anciennes sont fermées et une
+ * partie sans proposition dans le délai est abandonnée. Les échéances sont rangées dans des roues
+ * temporelles (une par groupe de sessions) et replanifiées en O(1) à chaque coup ; un appel périodique
+ * à traiterExpirations() ne visite que les échéances échues.
  * @author Imane Laasri
  * @version 1.0
  */
 public class GestionnairePartie {
+
+    /** Session utilisée par les méthodes sans identifiant de session */
+    public static final int SESSION_PAR_DEFAUT = 0;
+    
+    // Pas des roues temporelles (ms) et nombre de cases : un tour fait un peu moins de 7 minutes
+    private static final long DUREE_PAS_ROUE = 100;
+    private static final int CASES_ROUE = 4096;
+    
+    /**
+     * Une session : sa partie courante, et le verrou qui ordonne ses coups et leur journalisation
+     * Les échéances et instants ne sont utilisés qu'avec l'expiration activée, sous le verrou de la session.
+     */
+    private static final class Session {
+        private final int id;
+        private volatile PartieJeu partie;
+        
+        private RoueTemporelle.Echeance<Session> finDeVie;
+        private RoueTemporelle.Echeance<Session> finInactivite;
+        private RoueTemporelle.Echeance<Session> finCoup;
+        private long derniereActivite;
+        private long limiteCoup;
+        
+        private Session(int id) {
+            this.id = id;
+        }
+    }
     
     private final DictionnaireService dictionnaire;
-    private PartieJeu partieEnCours;
+    private final Map<Integer, Session> sessions;
     private final int erreursParDefaut;
+    private final JournalParties journal;
+    
+    // Expiration : null tant qu'elle n'est pas activée ; roues est écrit en dernier
+    private volatile ReglesExpiration regles;
+    private volatile LongSupplier horloge;
+    private volatile List<RoueTemporelle<Session>> roues;
     
     /**
      * Constructeur du gestionnaire
@@ -20,6 +71,18 @@ public class GestionnairePartie {
      * @param erreursParDefaut nombre d'erreurs par défaut pour les parties
      */
     public GestionnairePartie(DictionnaireService dictionnaire, int erreursParDefaut) {
+        this(dictionnaire, erreursParDefaut, null);
+    }
+    
+    /**
+     * Constructeur d'un gestionnaire journalisé : chaque démarrage et chaque lettre proposée
+     * est rendu durable dans le journal avant de rendre la main
+     * Les parties de toutes les sessions au moment de l'arrêt précédent sont reprises depuis le journal.
+     * @param dictionnaire le service de dictionnaire à utiliser
+     * @param erreursParDefaut nombre d'erreurs par défaut pour les parties
+     * @param journal le journal des parties, ou null pour ne rien journaliser
+     */
+    public GestionnairePartie(DictionnaireService dictionnaire, int erreursParDefaut, JournalParties journal) {
         if (dictionnaire == null) {
             throw new IllegalArgumentException("Le dictionnaire ne peut pas être null");
         }
@@ -29,7 +92,86 @@ public class GestionnairePartie {
         
         this.dictionnaire = dictionnaire;
         this.erreursParDefaut = erreursParDefaut;
-        this.partieEnCours = null;
+        this.journal = journal;
+        this.sessions = new ConcurrentHashMap<>();
+        
+        if (journal != null) {
+            for (Map.Entry<Integer, InstantanePartie> reprise : journal.getSessionsRestaurees().entrySet()) {
+                Session session = new Session(reprise.getKey());
+                session.partie = new PartieJeu(reprise.getValue());
+                sessions.put(reprise.getKey(), session);
+            }
+        }
+    }
+    
+    /**
+     * Démarre une partie dans une session et la journalise
+     * @param idSession l'identifiant de session
+     * @param mot le mot à deviner
+     * @param erreursMax nombre d'erreurs maximum
+     */
+    private void demarrer(int idSession, String mot, int erreursMax) {
+        PartieJeu partie = new PartieJeu(mot, erreursMax);
+        long numero = 0;
+        boolean demarree = false;
+        while (!demarree) {
+            Session session = sessions.computeIfAbsent(idSession, Session::new);
+            synchronized (session) {
+                // Une session fermée entre-temps est retirée de la table : on en crée une autre
+                if (sessions.get(idSession) == session) {
+                    if (journal != null) {
+                        numero = journal.enregistrerDebut(idSession, partie.getMotSecret(), erreursMax);
+                    }
+                    session.partie = partie;
+                    noterActivite(session);
+                    demarree = true;
+                }
+            }
+        }
+        // Hors verrou : les synchronisations de plusieurs sessions se regroupent
+        if (journal != null) {
+            journaliser(numero);
+        }
+    }
+    
+    /**
+     * Retourne la session d'une partie existante
+     * À revérifier avec verifierOuverte() une fois le verrou de la session pris.
+     * @param idSession l'identifiant de session
+     * @return la session
+     * @throws IllegalStateException si aucune partie n'a été démarrée dans cette session
+     */
+    private Session session(int idSession) {
+        Session session = sessions.get(idSession);
+        if (session == null || session.partie == null) {
+            throw new IllegalStateException("Aucune partie en cours");
+        }
+        return session;
+    }
+    
+    /**
+     * Vérifie, verrou de la session tenu, qu'elle n'a pas été fermée depuis sa lecture
+     * @param idSession l'identifiant de session
+     * @param session la session lue
+     * @throws IllegalStateException si la session a été fermée
+     */
+    private void verifierOuverte(int idSession, Session session) {
+        if (sessions.get(idSession) != session) {
+            throw new IllegalStateException("Aucune partie en cours");
+        }
+    }
+    
+    /**
+     * Attend que l'événement soit durable dans le journal
+     * @param numero le numéro de l'événement
+     * @throws UncheckedIOException si le journal ne peut pas être écrit
+     */
+    private void journaliser(long numero) {
+        try {
+            journal.synchroniser(numero);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal impossible", e);
+        }
     }
     
     /**
@@ -37,8 +179,57 @@ public class GestionnairePartie {
      * @throws IllegalStateException si le dictionnaire est vide
      */
     public void demarrerPartieUnJoueur() {
+        demarrerPartieUnJoueur(SESSION_PAR_DEFAUT);
+    }
+    
+    /**
+     * Démarre une nouvelle partie en mode 1 joueur (mot aléatoire) dans une session
+     * @param idSession l'identifiant de session ; une partie déjà en cours y est remplacée
+     * @throws IllegalStateException si le dictionnaire est vide
+     */
+    public void demarrerPartieUnJoueur(int idSession) {
         String motAleatoire = dictionnaire.obtenirMotAleatoire();
-        partieEnCours = new PartieJeu(motAleatoire, erreursParDefaut);
+        demarrer(idSession, motAleatoire, erreursParDefaut);
+    }
+    
+    /**
+     * Démarre une nouvelle partie en mode 1 joueur avec un mot du niveau demandé
+     * @param difficulte le niveau de difficulté du mot
+     * @throws IllegalStateException si aucun mot n'a ce niveau
+     */
+    public void demarrerPartieUnJoueur(Difficulte difficulte) {
+        demarrerPartieUnJoueur(SESSION_PAR_DEFAUT, difficulte);
+    }
+    
+    /**
+     * Démarre une nouvelle partie en mode 1 joueur avec un mot du niveau demandé dans une session
+     * @param idSession l'identifiant de session
+     * @param difficulte le niveau de difficulté du mot
+     * @throws IllegalStateException si aucun mot n'a ce niveau
+     */
+    public void demarrerPartieUnJoueur(int idSession, Difficulte difficulte) {
+        String motAleatoire = dictionnaire.obtenirMotAleatoire(difficulte);
+        demarrer(idSession, motAleatoire, erreursParDefaut);
+    }
+    
+    /**
+     * Démarre une nouvelle partie en mode 1 joueur sans redonner un mot déjà joué
+     * @param rotation la rotation du joueur, avancée d'un mot
+     * @throws IllegalStateException si le dictionnaire est vide
+     */
+    public void demarrerPartieUnJoueur(RotationJoueur rotation) {
+        demarrerPartieUnJoueur(SESSION_PAR_DEFAUT, rotation);
+    }
+    
+    /**
+     * Démarre une nouvelle partie en mode 1 joueur sans redonner un mot déjà joué, dans une session
+     * @param idSession l'identifiant de session
+     * @param rotation la rotation du joueur, avancée d'un mot
+     * @throws IllegalStateException si le dictionnaire est vide
+     */
+    public void demarrerPartieUnJoueur(int idSession, RotationJoueur rotation) {
+        String motAleatoire = dictionnaire.obtenirMotSansRepetition(rotation);
+        demarrer(idSession, motAleatoire, erreursParDefaut);
     }
     
     /**
@@ -47,11 +238,21 @@ public class GestionnairePartie {
      * @throws IllegalArgumentException si le mot est invalide
      */
     public void demarrerPartieDeuxJoueurs(String mot) {
+        demarrerPartieDeuxJoueurs(SESSION_PAR_DEFAUT, mot);
+    }
+    
+    /**
+     * Démarre une nouvelle partie en mode 2 joueurs (mot choisi) dans une session
+     * @param idSession l'identifiant de session
+     * @param mot le mot choisi par le joueur 1
+     * @throws IllegalArgumentException si le mot est invalide
+     */
+    public void demarrerPartieDeuxJoueurs(int idSession, String mot) {
         if (mot == null || mot.trim().isEmpty()) {
             throw new IllegalArgumentException("Le mot ne peut pas être vide");
         }
         
-        partieEnCours = new PartieJeu(mot, erreursParDefaut);
+        demarrer(idSession, mot, erreursParDefaut);
     }
     
     /**
@@ -59,24 +260,356 @@ public class GestionnairePartie {
      * @param erreursMax nombre d'erreurs maximum
      */
     public void demarrerPartieUnJoueurAvecErreurs(int erreursMax) {
+        demarrerPartieUnJoueurAvecErreurs(SESSION_PAR_DEFAUT, erreursMax);
+    }
+    
+    /**
+     * Démarre une partie avec un nombre d'erreurs personnalisé dans une session
+     * @param idSession l'identifiant de session
+     * @param erreursMax nombre d'erreurs maximum
+     */
+    public void demarrerPartieUnJoueurAvecErreurs(int idSession, int erreursMax) {
         String motAleatoire = dictionnaire.obtenirMotAleatoire();
-        partieEnCours = new PartieJeu(motAleatoire, erreursMax);
+        demarrer(idSession, motAleatoire, erreursMax);
     }
     
     // Manque Javadoc
     public boolean proposerLettre(char lettre) {
-        if (partieEnCours == null) {
-            throw new IllegalStateException("Aucune partie en cours");
+        return proposerLettre(SESSION_PAR_DEFAUT, lettre);
+    }
+    
+    /**
+     * Propose une lettre à la partie d'une session
+     * @param idSession l'identifiant de session
+     * @param lettre la lettre proposée
+     * @return true si la lettre est dans le mot, false sinon
+     * @throws IllegalArgumentException si la lettre n'est pas alphabétique
+     * @throws IllegalStateException si aucune partie n'est en cours dans la session, ou si elle est terminée
+     */
+    public boolean proposerLettre(int idSession, char lettre) {
+        Session session = session(idSession);
+        boolean presente = false;
+        boolean horsDelai;
+        long numero = 0;
+        synchronized (session) {
+            verifierOuverte(idSession, session);
+            horsDelai = estHorsDelai(session);
+            if (horsDelai) {
+                numero = abandonner(session);
+            } else {
+                presente = session.partie.proposerLettre(lettre);
+                if (journal != null) {
+                    numero = journal.enregistrerLettre(idSession, lettre);
+                }
+                noterActivite(session);
+            }
         }
-        
-        return partieEnCours.proposerLettre(lettre);
+        if (journal != null) {
+            journaliser(numero);
+        }
+        if (horsDelai) {
+            throw new IllegalStateException("Délai de proposition dépassé");
+        }
+        return presente;
+    }
+    
+    /**
+     * Propose une suite de lettres en une seule passe, jusqu'à la fin de la partie
+     * Avec un journal, les lettres traitées sont rendues durables par une seule synchronisation.
+     * @param lettres les lettres proposées, dans l'ordre
+     * @return pour chaque lettre traitée, si elle était dans le mot
+     * @throws IllegalArgumentException si l'un des caractères n'est pas alphabétique
+     * @throws IllegalStateException si aucune partie n'est en cours ou si elle est terminée
+     */
+    public ResultatPropositions proposerLettres(CharSequence lettres) {
+        return proposerLettres(SESSION_PAR_DEFAUT, lettres);
+    }
+    
+    /**
+     * Propose une suite de lettres à la partie d'une session, jusqu'à la fin de la partie
+     * @param idSession l'identifiant de session
+     * @param lettres les lettres proposées, dans l'ordre
+     * @return pour chaque lettre traitée, si elle était dans le mot
+     * @throws IllegalArgumentException si l'un des caractères n'est pas alphabétique
+     * @throws IllegalStateException si aucune partie n'est en cours dans la session, ou si elle est terminée
+     */
+    public ResultatPropositions proposerLettres(int idSession, CharSequence lettres) {
+        Session session = session(idSession);
+        ResultatPropositions resultat = null;
+        boolean horsDelai;
+        long numero = 0;
+        synchronized (session) {
+            verifierOuverte(idSession, session);
+            horsDelai = estHorsDelai(session);
+            if (horsDelai) {
+                numero = abandonner(session);
+            } else {
+                resultat = session.partie.proposerLettres(lettres);
+                if (journal != null) {
+                    for (int i = 0; i < resultat.getNombreTraitees(); i++) {
+                        numero = journal.enregistrerLettre(idSession, lettres.charAt(i));
+                    }
+                }
+                noterActivite(session);
+            }
+        }
+        if (journal != null && numero > 0) {
+            journaliser(numero);
+        }
+        if (horsDelai) {
+            throw new IllegalStateException("Délai de proposition dépassé");
+        }
+        return resultat;
     }
     
     public PartieJeu getPartieEnCours() {
-        return partieEnCours;
+        return getPartie(SESSION_PAR_DEFAUT);
+    }
+    
+    /**
+     * Retourne la partie d'une session
+     * Pour lire l'état depuis un autre thread que celui qui joue, préférer getInstantane().
+     * @param idSession l'identifiant de session
+     * @return la partie, ou null si aucune partie n'a été démarrée dans cette session
+     */
+    public PartieJeu getPartie(int idSession) {
+        Session session = sessions.get(idSession);
+        return session == null ? null : session.partie;
+    }
+    
+    /**
+     * Retourne l'état courant de la partie d'une session, lisible sans verrou depuis n'importe quel thread
+     * @param idSession l'identifiant de session
+     * @return l'instantané courant, ou null si aucune partie n'a été démarrée dans cette session
+     */
+    public InstantanePartie getInstantane(int idSession) {
+        PartieJeu partie = getPartie(idSession);
+        return partie == null ? null : partie.getInstantane();
+    }
+    
+    /**
+     * Ferme une session et oublie sa partie
+     * @param idSession l'identifiant de session
+     * @return true si la session existait
+     */
+    public boolean fermerSession(int idSession) {
+        Session session = sessions.get(idSession);
+        if (session == null) {
+            return false;
+        }
+        long numero;
+        synchronized (session) {
+            if (sessions.get(idSession) != session) {
+                return false;
+            }
+            numero = fermer(session);
+        }
+        if (journal != null) {
+            journaliser(numero);
+        }
+        return true;
+    }
+    
+    /**
+     * Retire une session ouverte et annule ses échéances (verrou de la session tenu)
+     * La fin est journalisée avant le retrait : un démarrage concurrent dans la même session
+     * trouve encore l'ancienne, attend son verrou puis recommence, et journalise donc son début
+     * après cette fin. Dans l'ordre inverse, le rejeu effacerait la nouvelle partie.
+     * @param session la session
+     * @return le numéro de l'événement de fermeture dans le journal, 0 sans journal
+     */
+    private long fermer(Session session) {
+        long numero = journal == null ? 0 : journal.enregistrerFin(session.id);
+        List<RoueTemporelle<Session>> courantes = roues;
+        if (courantes != null && session.finDeVie != null) {
+            RoueTemporelle<Session> roue = roue(courantes, session.id);
+            roue.annuler(session.finDeVie);
+            roue.annuler(session.finInactivite);
+            roue.annuler(session.finCoup);
+        }
+        sessions.remove(session.id, session);
+        return numero;
+    }
+    
+    /**
+     * Active l'expiration des sessions, avec l'horloge système
+     * @param regles les délais d'expiration
+     * @throws IllegalStateException si l'expiration est déjà activée
+     */
+    public void activerExpiration(ReglesExpiration regles) {
+        activerExpiration(regles, System::currentTimeMillis);
+    }
+    
+    /**
+     * Active l'expiration des sessions
+     * Les sessions déjà ouvertes sont considérées comme ouvertes et actives à cet instant.
+     * Les expirations sont appliquées par traiterExpirations(), à appeler périodiquement
+     * (toutes les 100 ms par exemple, depuis un ScheduledExecutorService).
+     * @param regles les délais d'expiration
+     * @param horloge l'horloge en millisecondes
+     * @throws IllegalArgumentException si un paramètre est null
+     * @throws IllegalStateException si l'expiration est déjà activée
+     */
+    public synchronized void activerExpiration(ReglesExpiration regles, LongSupplier horloge) {
+        if (regles == null || horloge == null) {
+            throw new IllegalArgumentException("Les règles et l'horloge ne peuvent pas être null");
+        }
+        if (roues != null) {
+            throw new IllegalStateException("L'expiration est déjà activée");
+        }
+        
+        // Règles et horloge d'abord : qui voit les roues publiées voit aussi ce qu'elles utilisent
+        this.regles = regles;
+        this.horloge = horloge;
+        long maintenant = horloge.getAsLong();
+        int nombreRoues = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        List<RoueTemporelle<Session>> nouvelles = new ArrayList<>(nombreRoues);
+        for (int i = 0; i < nombreRoues; i++) {
+            nouvelles.add(new RoueTemporelle<>(DUREE_PAS_ROUE, CASES_ROUE, maintenant));
+        }
+        roues = List.copyOf(nouvelles);
+        
+        // Roues publiées avant le parcours : une session ouverte pendant celui-ci s'arme elle-même,
+        // une session déjà ouverte l'est ici sous son verrou ; aucune n'est armée deux fois
+        for (Session session : sessions.values()) {
+            synchronized (session) {
+                if (session.partie != null && session.finDeVie == null) {
+                    noterActivite(session);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Applique les expirations échues : ferme les sessions inactives ou trop anciennes
+     * et abandonne les parties dont le délai de proposition est dépassé
+     * Seules les échéances échues sont visitées, jamais l'ensemble des sessions.
+     * @return nombre de sessions fermées et de parties abandonnées
+     */
+    public int traiterExpirations() {
+        List<RoueTemporelle<Session>> courantes = roues;
+        if (courantes == null) {
+            return 0;
+        }
+        
+        long maintenant = horloge.getAsLong();
+        List<RoueTemporelle.Echeance<Session>> echues = new ArrayList<>();
+        for (RoueTemporelle<Session> roue : courantes) {
+            roue.avancer(maintenant, echues);
+        }
+        
+        int appliquees = 0;
+        long numero = 0;
+        for (RoueTemporelle.Echeance<Session> echeance : echues) {
+            Session session = echeance.sujet();
+            synchronized (session) {
+                if (sessions.get(session.id) != session) {
+                    continue;
+                }
+                // Une échéance replanifiée par un coup joué entre-temps est de nouveau dans la roue
+                boolean inactive = echeance == session.finInactivite
+                        && session.derniereActivite + regles.getInactivite() <= maintenant;
+                if (echeance == session.finDeVie || inactive) {
+                    numero = Math.max(numero, fermer(session));
+                    appliquees++;
+                } else if (echeance == session.finCoup && session.partie.getEtat() == EtatPartie.EN_COURS
+                        && session.limiteCoup <= maintenant) {
+                    numero = Math.max(numero, abandonner(session));
+                    appliquees++;
+                }
+            }
+        }
+        // Une seule synchronisation du journal pour toutes les expirations du tour
+        if (journal != null && numero > 0) {
+            journaliser(numero);
+        }
+        return appliquees;
+    }
+    
+    /**
+     * @return nombre d'échéances planifiées dans les roues temporelles
+     */
+    int nombreEcheances() {
+        List<RoueTemporelle<Session>> courantes = roues;
+        int total = 0;
+        if (courantes != null) {
+            for (RoueTemporelle<Session> roue : courantes) {
+                total += roue.taille();
+            }
+        }
+        return total;
+    }
+    
+    private static RoueTemporelle<Session> roue(List<RoueTemporelle<Session>> courantes, int idSession) {
+        return courantes.get((idSession ^ (idSession >>> 16)) & (courantes.size() - 1));
+    }
+    
+    /**
+     * Replanifie les échéances d'une session après un démarrage ou un coup (verrou de la session tenu)
+     * La durée de vie n'est planifiée qu'une fois, à la première activité de la session.
+     * @param session la session
+     */
+    private void noterActivite(Session session) {
+        List<RoueTemporelle<Session>> courantes = roues;
+        if (courantes == null) {
+            return;
+        }
+        
+        RoueTemporelle<Session> roue = roue(courantes, session.id);
+        long maintenant = horloge.getAsLong();
+        if (session.finDeVie == null) {
+            session.finDeVie = new RoueTemporelle.Echeance<>(session);
+            session.finInactivite = new RoueTemporelle.Echeance<>(session);
+            session.finCoup = new RoueTemporelle.Echeance<>(session);
+            if (regles.getDureeDeVie() > 0) {
+                roue.planifier(session.finDeVie, maintenant + regles.getDureeDeVie());
+            }
+        }
+        
+        session.derniereActivite = maintenant;
+        if (regles.getInactivite() > 0) {
+            roue.planifier(session.finInactivite, maintenant + regles.getInactivite());
+        }
+        if (regles.getDelaiParCoup() > 0 && session.partie.getEtat() == EtatPartie.EN_COURS) {
+            session.limiteCoup = maintenant + regles.getDelaiParCoup();
+            roue.planifier(session.finCoup, session.limiteCoup);
+        } else {
+            roue.annuler(session.finCoup);
+        }
+    }
+    
+    /**
+     * Vérifie si le délai de proposition de la partie d'une session est dépassé (verrou de la session tenu)
+     * @param session la session
+     * @return true si la partie en cours doit être abandonnée
+     */
+    private boolean estHorsDelai(Session session) {
+        return roues != null && regles.getDelaiParCoup() > 0 && session.finCoup != null
+                && session.partie.getEtat() == EtatPartie.EN_COURS
+                && horloge.getAsLong() >= session.limiteCoup;
+    }
+    
+    /**
+     * Abandonne la partie d'une session (verrou de la session tenu)
+     * @param session la session
+     * @return le numéro de l'événement d'abandon dans le journal, 0 sans journal
+     */
+    private long abandonner(Session session) {
+        session.partie.abandonner();
+        roue(roues, session.id).annuler(session.finCoup);
+        return journal == null ? 0 : journal.enregistrerAbandon(session.id);
+    }
+    
+    /**
+     * Retourne le nombre de sessions ouvertes
+     * @return nombre de sessions
+     */
+    public int getNombreSessions() {
+        return sessions.size();
     }
     
     public boolean partieEnCours() {
+        PartieJeu partieEnCours = getPartieEnCours();
         return partieEnCours != null && partieEnCours.getEtat() == EtatPartie.EN_COURS;
     }
     
@@ -85,6 +618,7 @@ public class GestionnairePartie {
      * @return true si la partie est terminée (gagnée ou perdue)
      */
     public boolean partieTerminee() {
+        PartieJeu partieEnCours = getPartieEnCours();
         if (partieEnCours == null) {
             return false;
         }
@@ -104,4 +638,4 @@ public class GestionnairePartie {
     public DictionnaireService getDictionnaire() {
         return dictionnaire;
     }
-}
\ No newline at end of file
+}
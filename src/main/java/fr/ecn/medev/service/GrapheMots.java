@@ -0,0 +1,597 @@
+package fr.ecn.medev.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graphe acyclique orienté minimal des mots (DAWG) : préfixes et suffixes communs ne sont stockés qu'une fois
+ * Le graphe est immuable et tient dans quelques tableaux plats : les arcs de chaque nœud sont contigus
+ * et triés par lettre. Chaque nœud connaît le nombre de mots accessibles depuis lui, ce qui permet
+ * de compter, d'énumérer et de tirer au hasard les mots d'un préfixe directement sur le graphe.
+ * Le graphe est persistant : avec() partage ses tableaux et range à côté, triés, les mots ajoutés
+ * depuis sa construction, jusqu'à ce qu'une reconstruction devienne rentable.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class GrapheMots {
+
+    // Mots ajoutés tolérés hors du graphe : au moins AJOUTS_MIN, sinon un huitième des mots du graphe
+    private static final int AJOUTS_MIN = 256;
+    private static final int FRACTION_AJOUTS = 8;
+
+    private static final int[] AUCUN_AJOUT = new int[0];
+
+    /**
+     * Nœud en cours de construction ; deux nœuds sont équivalents s'ils ont le même statut
+     * terminal et les mêmes arcs vers les mêmes nœuds (déjà minimisés)
+     */
+    private static final class Noeud {
+        private byte[] lettres = new byte[2];
+        private Noeud[] cibles = new Noeud[2];
+        private int nombreArcs;
+        private boolean terminal;
+        private int numero = -1;
+
+        private void ajouterArc(byte lettre, Noeud cible) {
+            if (nombreArcs == lettres.length) {
+                lettres = Arrays.copyOf(lettres, nombreArcs * 2);
+                cibles = Arrays.copyOf(cibles, nombreArcs * 2);
+            }
+            lettres[nombreArcs] = lettre;
+            cibles[nombreArcs++] = cible;
+        }
+
+        @Override
+        public boolean equals(Object autre) {
+            if (!(autre instanceof Noeud)) {
+                return false;
+            }
+            Noeud noeud = (Noeud) autre;
+            if (terminal != noeud.terminal || nombreArcs != noeud.nombreArcs) {
+                return false;
+            }
+            for (int i = 0; i < nombreArcs; i++) {
+                if (lettres[i] != noeud.lettres[i] || cibles[i] != noeud.cibles[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = terminal ? 1 : 0;
+            for (int i = 0; i < nombreArcs; i++) {
+                hash = 31 * (31 * hash + lettres[i]) + System.identityHashCode(cibles[i]);
+            }
+            return hash;
+        }
+    }
+
+    // Arcs du nœud n : indices debutsArcs[n] à debutsArcs[n + 1] exclu ; la racine est le nœud 0
+    private final int[] debutsArcs;
+    private final byte[] lettresArcs;
+    private final int[] ciblesArcs;
+    private final long[] terminaux;
+    private final int[] nombresMots;
+    private final int longueurMax;
+
+    // Mots ajoutés depuis la construction du graphe : indices dans l'arène, triés par ordre alphabétique
+    private final ArenaMots arena;
+    private final int[] ajouts;
+
+    /**
+     * Construit le graphe minimal des mots d'une arène
+     * @param arena l'arène (figée) des mots
+     */
+    GrapheMots(ArenaMots arena) {
+        this.arena = arena;
+        this.ajouts = AUCUN_AJOUT;
+
+        String[] mots = new String[arena.taille()];
+        int longueurMax = 0;
+        for (int id = 0; id < mots.length; id++) {
+            mots[id] = arena.mot(id);
+            longueurMax = Math.max(longueurMax, mots[id].length());
+        }
+        // Les lettres étant en Latin-1, l'ordre des char est celui des octets non signés
+        Arrays.sort(mots);
+
+        Noeud racine = construire(mots);
+
+        List<Noeud> ordre = new ArrayList<>();
+        int nombreArcs = numeroter(racine, ordre);
+
+        this.debutsArcs = new int[ordre.size() + 1];
+        this.lettresArcs = new byte[nombreArcs];
+        this.ciblesArcs = new int[nombreArcs];
+        this.terminaux = new long[(ordre.size() + 63) >>> 6];
+        this.nombresMots = new int[ordre.size()];
+        this.longueurMax = longueurMax;
+
+        int arc = 0;
+        for (int n = 0; n < ordre.size(); n++) {
+            Noeud noeud = ordre.get(n);
+            debutsArcs[n] = arc;
+            for (int i = 0; i < noeud.nombreArcs; i++) {
+                lettresArcs[arc] = noeud.lettres[i];
+                ciblesArcs[arc++] = noeud.cibles[i].numero;
+            }
+            if (noeud.terminal) {
+                terminaux[n >>> 6] |= 1L << n;
+            }
+        }
+        debutsArcs[ordre.size()] = arc;
+
+        // Les cibles ayant un numéro plus grand que leur source, on compte à rebours
+        for (int n = ordre.size() - 1; n >= 0; n--) {
+            int total = estTerminal(n) ? 1 : 0;
+            for (int a = debutsArcs[n]; a < debutsArcs[n + 1]; a++) {
+                total += nombresMots[ciblesArcs[a]];
+            }
+            nombresMots[n] = total;
+        }
+    }
+
+    /**
+     * Constructeur d'un graphe partageant les tableaux d'un autre, avec d'autres mots ajoutés
+     * @param source le graphe dont les tableaux sont partagés
+     * @param arena l'arène contenant les mots ajoutés
+     * @param ajouts les mots ajoutés, triés
+     */
+    private GrapheMots(GrapheMots source, ArenaMots arena, int[] ajouts) {
+        this.debutsArcs = source.debutsArcs;
+        this.lettresArcs = source.lettresArcs;
+        this.ciblesArcs = source.ciblesArcs;
+        this.terminaux = source.terminaux;
+        this.nombresMots = source.nombresMots;
+        this.longueurMax = source.longueurMax;
+        this.arena = arena;
+        this.ajouts = ajouts;
+    }
+
+    /**
+     * Retourne un graphe contenant en plus les mots ajoutés à l'arène depuis sa construction
+     * Seuls les mots ajoutés sont triés et fusionnés ; ce graphe reste valide et inchangé pour ses lecteurs.
+     * @param arenaFigee l'arène figée la plus récente
+     * @param premierId indice du premier mot ajouté
+     * @return le nouveau graphe, ou null si trop de mots restent hors du graphe et qu'il vaut mieux le reconstruire
+     */
+    GrapheMots avec(ArenaMots arenaFigee, int premierId) {
+        int nombreNouveaux = arenaFigee.taille() - premierId;
+        int total = ajouts.length + nombreNouveaux;
+        if (total > Math.max(AJOUTS_MIN, nombresMots[0] / FRACTION_AJOUTS)) {
+            return null;
+        }
+
+        Integer[] nouveaux = new Integer[nombreNouveaux];
+        for (int i = 0; i < nombreNouveaux; i++) {
+            nouveaux[i] = premierId + i;
+        }
+        Arrays.sort(nouveaux, arenaFigee::comparer);
+
+        int[] fusion = new int[total];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < total; k++) {
+            if (j == nombreNouveaux || (i < ajouts.length && arenaFigee.comparer(ajouts[i], nouveaux[j]) < 0)) {
+                fusion[k] = ajouts[i++];
+            } else {
+                fusion[k] = nouveaux[j++];
+            }
+        }
+        return new GrapheMots(this, arenaFigee, fusion);
+    }
+
+    /**
+     * Construction incrémentale sur des mots triés : dès qu'un suffixe n'est plus partagé avec
+     * le mot suivant, ses nœuds sont remplacés par un équivalent déjà enregistré s'il existe
+     * @param mots les mots triés, sans doublon
+     * @return la racine du graphe
+     */
+    private static Noeud construire(String[] mots) {
+        Map<Noeud, Noeud> registre = new HashMap<>();
+        Noeud racine = new Noeud();
+        // chemin[i] : nœud atteint après i lettres du mot précédent, pas encore minimisé pour i > 0
+        Noeud[] chemin = new Noeud[1];
+        chemin[0] = racine;
+        String precedent = "";
+
+        for (String mot : mots) {
+            int commun = 0;
+            int borne = Math.min(mot.length(), precedent.length());
+            while (commun < borne && mot.charAt(commun) == precedent.charAt(commun)) {
+                commun++;
+            }
+
+            minimiser(chemin, precedent.length(), commun, registre);
+
+            if (chemin.length <= mot.length()) {
+                chemin = Arrays.copyOf(chemin, mot.length() + 1);
+            }
+            for (int i = commun; i < mot.length(); i++) {
+                Noeud suivant = new Noeud();
+                chemin[i].ajouterArc((byte) mot.charAt(i), suivant);
+                chemin[i + 1] = suivant;
+            }
+            chemin[mot.length()].terminal = true;
+            precedent = mot;
+        }
+
+        minimiser(chemin, precedent.length(), 0, registre);
+        return racine;
+    }
+
+    /**
+     * Remplace les nœuds du chemin au-delà d'une profondeur par leurs équivalents enregistrés
+     * @param chemin les nœuds du dernier mot inséré
+     * @param profondeur longueur du dernier mot inséré
+     * @param jusqua profondeur à conserver telle quelle
+     * @param registre nœuds minimisés, indexés par eux-mêmes
+     */
+    private static void minimiser(Noeud[] chemin, int profondeur, int jusqua, Map<Noeud, Noeud> registre) {
+        for (int i = profondeur; i > jusqua; i--) {
+            Noeud enfant = chemin[i];
+            Noeud equivalent = registre.putIfAbsent(enfant, enfant);
+            if (equivalent != null) {
+                Noeud parent = chemin[i - 1];
+                parent.cibles[parent.nombreArcs - 1] = equivalent;
+            }
+        }
+    }
+
+    /**
+     * Numérote les nœuds dans un ordre topologique, sans pile récursive
+     * Une cible pouvant être atteinte par plusieurs chemins, elle n'est numérotée
+     * qu'une fois toutes ses sources numérotées.
+     * @param racine la racine
+     * @param ordre liste recevant les nœuds dans l'ordre des numéros
+     * @return le nombre total d'arcs
+     */
+    private static int numeroter(Noeud racine, List<Noeud> ordre) {
+        Map<Noeud, Integer> entrants = new IdentityHashMap<>();
+        List<Noeud> aVisiter = new ArrayList<>();
+        aVisiter.add(racine);
+        entrants.put(racine, 0);
+        for (int i = 0; i < aVisiter.size(); i++) {
+            Noeud noeud = aVisiter.get(i);
+            for (int a = 0; a < noeud.nombreArcs; a++) {
+                Integer degre = entrants.get(noeud.cibles[a]);
+                if (degre == null) {
+                    aVisiter.add(noeud.cibles[a]);
+                }
+                entrants.put(noeud.cibles[a], degre == null ? 1 : degre + 1);
+            }
+        }
+
+        int nombreArcs = 0;
+        ordre.add(racine);
+        racine.numero = 0;
+        for (int i = 0; i < ordre.size(); i++) {
+            Noeud noeud = ordre.get(i);
+            nombreArcs += noeud.nombreArcs;
+            for (int a = 0; a < noeud.nombreArcs; a++) {
+                Noeud cible = noeud.cibles[a];
+                int restants = entrants.get(cible) - 1;
+                entrants.put(cible, restants);
+                if (restants == 0) {
+                    cible.numero = ordre.size();
+                    ordre.add(cible);
+                }
+            }
+        }
+        return nombreArcs;
+    }
+
+    /**
+     * Vérifie la présence d'un mot
+     * @param mot le mot, en majuscules Latin-1
+     * @return true si le mot est dans le graphe
+     */
+    boolean contient(String mot) {
+        int noeud = suivre(mot);
+        if (noeud >= 0 && estTerminal(noeud)) {
+            return true;
+        }
+        byte[] cle = octets(mot);
+        if (cle == null) {
+            return false;
+        }
+        int position = premierAjout(cle);
+        return position < ajouts.length && arena.comparer(ajouts[position], cle) == 0;
+    }
+
+    /**
+     * Compte les mots commençant par un préfixe
+     * @param prefixe le préfixe, en majuscules Latin-1 (vide pour tous les mots)
+     * @return le nombre de mots
+     */
+    int compter(String prefixe) {
+        int noeud = suivre(prefixe);
+        int dansGraphe = noeud < 0 ? 0 : nombresMots[noeud];
+        byte[] cle = octets(prefixe);
+        if (ajouts.length == 0 || cle == null) {
+            return dansGraphe;
+        }
+        int debut = premierAjout(cle);
+        return dansGraphe + finPrefixe(debut, cle) - debut;
+    }
+
+    /**
+     * Énumère les mots commençant par un préfixe, dans l'ordre alphabétique
+     * @param prefixe le préfixe, en majuscules Latin-1
+     * @param limite nombre maximal de mots retournés
+     * @return les mots trouvés
+     */
+    List<String> enumerer(String prefixe, int limite) {
+        List<String> dansGraphe = enumererGraphe(prefixe, limite);
+        byte[] cle = octets(prefixe);
+        if (ajouts.length == 0 || cle == null) {
+            return dansGraphe;
+        }
+
+        // Fusion de deux suites triées : mots du graphe et mots ajoutés du même préfixe
+        int j = premierAjout(cle);
+        int fin = finPrefixe(j, cle);
+        List<String> resultat = new ArrayList<>();
+        int i = 0;
+        String ajoute = j < fin ? arena.mot(ajouts[j]) : null;
+        while (resultat.size() < limite && (i < dansGraphe.size() || ajoute != null)) {
+            if (ajoute == null || (i < dansGraphe.size() && dansGraphe.get(i).compareTo(ajoute) < 0)) {
+                resultat.add(dansGraphe.get(i++));
+            } else {
+                resultat.add(ajoute);
+                j++;
+                ajoute = j < fin ? arena.mot(ajouts[j]) : null;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Énumère, dans l'ordre alphabétique, les mots du graphe seul commençant par un préfixe
+     * @param prefixe le préfixe, en majuscules Latin-1
+     * @param limite nombre maximal de mots retournés
+     * @return les mots trouvés
+     */
+    private List<String> enumererGraphe(String prefixe, int limite) {
+        List<String> resultat = new ArrayList<>();
+        int depart = suivre(prefixe);
+        if (depart < 0 || limite <= 0) {
+            return resultat;
+        }
+
+        // Parcours en profondeur itératif : une position d'arc par niveau
+        char[] lettres = Arrays.copyOf(prefixe.toCharArray(), longueurMax);
+        int[] noeuds = new int[longueurMax + 1];
+        int[] arcs = new int[longueurMax + 1];
+        int niveau = prefixe.length();
+        noeuds[niveau] = depart;
+        arcs[niveau] = debutsArcs[depart];
+        if (estTerminal(depart)) {
+            resultat.add(prefixe);
+        }
+
+        while (niveau >= prefixe.length() && resultat.size() < limite) {
+            int noeud = noeuds[niveau];
+            int arc = arcs[niveau];
+            if (arc == debutsArcs[noeud + 1]) {
+                niveau--;
+                continue;
+            }
+            arcs[niveau]++;
+
+            int cible = ciblesArcs[arc];
+            lettres[niveau] = (char) (lettresArcs[arc] & 0xFF);
+            niveau++;
+            noeuds[niveau] = cible;
+            arcs[niveau] = debutsArcs[cible];
+            if (estTerminal(cible)) {
+                resultat.add(new String(lettres, 0, niveau));
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne le k-ième mot (ordre alphabétique) commençant par un préfixe
+     * @param prefixe le préfixe, en majuscules Latin-1
+     * @param rang rang du mot, dans [0, compter(prefixe)[
+     * @return le mot
+     */
+    String kieme(String prefixe, int rang) {
+        byte[] cle = octets(prefixe);
+        if (ajouts.length > 0 && cle != null) {
+            int debut = premierAjout(cle);
+            int noeud = suivre(prefixe);
+
+            // Le j-ième mot ajouté du préfixe est au rang j + (mots du graphe placés avant lui), croissant en j
+            int bas = debut;
+            int haut = finPrefixe(debut, cle);
+            while (bas < haut) {
+                int milieu = (bas + haut) >>> 1;
+                String mot = arena.mot(ajouts[milieu]);
+                int position = milieu - debut + rangGraphe(noeud, mot, prefixe.length());
+                if (position == rang) {
+                    return mot;
+                }
+                if (position < rang) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu;
+                }
+            }
+            // Le mot cherché est dans le graphe, précédé de bas - debut mots ajoutés
+            rang -= bas - debut;
+        }
+        return kiemeGraphe(prefixe, rang);
+    }
+
+    /**
+     * Retourne le k-ième mot du graphe seul commençant par un préfixe
+     * @param prefixe le préfixe, en majuscules Latin-1
+     * @param rang rang du mot parmi ceux du graphe
+     * @return le mot
+     */
+    private String kiemeGraphe(String prefixe, int rang) {
+        StringBuilder mot = new StringBuilder(longueurMax).append(prefixe);
+        int noeud = suivre(prefixe);
+
+        while (true) {
+            if (estTerminal(noeud)) {
+                if (rang == 0) {
+                    return mot.toString();
+                }
+                rang--;
+            }
+            int arc = debutsArcs[noeud];
+            while (rang >= nombresMots[ciblesArcs[arc]]) {
+                rang -= nombresMots[ciblesArcs[arc]];
+                arc++;
+            }
+            mot.append((char) (lettresArcs[arc] & 0xFF));
+            noeud = ciblesArcs[arc];
+        }
+    }
+
+    /**
+     * Compte les mots du graphe situés sous un nœud et placés avant un mot dans l'ordre alphabétique
+     * @param noeud le nœud atteint par les premières lettres du mot, ou -1
+     * @param mot le mot, absent du graphe
+     * @param position nombre de lettres du mot déjà suivies pour atteindre le nœud
+     * @return le nombre de mots
+     */
+    private int rangGraphe(int noeud, String mot, int position) {
+        int rang = 0;
+        for (int i = position; i < mot.length() && noeud >= 0; i++) {
+            // Le mot formé par le chemin courant est un préfixe strict, donc placé avant
+            if (estTerminal(noeud)) {
+                rang++;
+            }
+            char lettre = mot.charAt(i);
+            int suivant = -1;
+            for (int a = debutsArcs[noeud]; a < debutsArcs[noeud + 1]; a++) {
+                int courante = lettresArcs[a] & 0xFF;
+                if (courante >= lettre) {
+                    suivant = courante == lettre ? ciblesArcs[a] : -1;
+                    break;
+                }
+                rang += nombresMots[ciblesArcs[a]];
+            }
+            noeud = suivant;
+        }
+        return rang;
+    }
+
+    /**
+     * Cherche le premier mot ajouté supérieur ou égal à une suite d'octets
+     * @param cle les octets cherchés
+     * @return sa position dans ajouts (ajouts.length si tous sont inférieurs)
+     */
+    private int premierAjout(byte[] cle) {
+        int bas = 0;
+        int haut = ajouts.length;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (arena.comparer(ajouts[milieu], cle) < 0) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Cherche la fin des mots ajoutés commençant par un préfixe, contigus à partir d'une position
+     * @param debut position du premier mot ajouté supérieur ou égal au préfixe
+     * @param prefixe le préfixe
+     * @return la position qui suit le dernier mot ajouté du préfixe
+     */
+    private int finPrefixe(int debut, byte[] prefixe) {
+        int bas = debut;
+        int haut = ajouts.length;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (arena.commencePar(ajouts[milieu], prefixe)) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Convertit un mot ou un préfixe en octets Latin-1
+     * @param texte le texte
+     * @return ses octets, ou null s'il contient un caractère hors Latin-1 (absent de tous les mots)
+     */
+    private static byte[] octets(String texte) {
+        for (int i = 0; i < texte.length(); i++) {
+            if (texte.charAt(i) > 0xFF) {
+                return null;
+            }
+        }
+        return texte.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return nombre de nœuds du graphe
+     */
+    int nombreNoeuds() {
+        return nombresMots.length;
+    }
+
+    /**
+     * @return place occupée par les tableaux du graphe, en octets
+     */
+    long octetsOccupes() {
+        return 4L * debutsArcs.length + lettresArcs.length + 4L * ciblesArcs.length
+                + 8L * terminaux.length + 4L * nombresMots.length + 4L * ajouts.length;
+    }
+
+    /**
+     * Suit les arcs correspondant aux lettres d'un préfixe depuis la racine
+     * @param prefixe le préfixe
+     * @return le nœud atteint, ou -1 si aucun mot ne commence ainsi
+     */
+    private int suivre(String prefixe) {
+        int noeud = 0;
+        for (int i = 0; i < prefixe.length() && noeud >= 0; i++) {
+            noeud = arcVers(noeud, prefixe.charAt(i));
+        }
+        return noeud;
+    }
+
+    /**
+     * Cherche l'arc d'une lettre parmi les arcs triés d'un nœud
+     * @param noeud le nœud de départ
+     * @param lettre la lettre
+     * @return le nœud cible, ou -1
+     */
+    private int arcVers(int noeud, char lettre) {
+        if (lettre > 0xFF) {
+            return -1;
+        }
+        for (int a = debutsArcs[noeud]; a < debutsArcs[noeud + 1]; a++) {
+            int courante = lettresArcs[a] & 0xFF;
+            if (courante == lettre) {
+                return ciblesArcs[a];
+            }
+            if (courante > lettre) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean estTerminal(int noeud) {
+        return (terminaux[noeud >>> 6] & (1L << noeud)) != 0;
+    }
+}
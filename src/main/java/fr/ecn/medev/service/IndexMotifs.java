@@ -0,0 +1,235 @@
+package fr.ecn.medev.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index inversé (longueur, position, lettre) vers ensembles de bits de mots,
+ * pour retrouver les mots compatibles avec un masque du type "A _ G _ _"
+ * Les lettres sont indexées repliées : comme au jeu, exclure E écarte aussi les mots en É ou È.
+ * L'index est persistant : avec() retourne un nouvel index qui ne recopie que les groupes touchés.
+ * Les bits ajoutés dans un ensemble partagé sont au-delà de la taille du groupe de l'ancien
+ * index, qui les ignore puisque ses candidats initiaux s'arrêtent à sa taille.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class IndexMotifs {
+
+    // Une case par lettre repliée (sans accent), toujours dans le Latin-1
+    private static final int LETTRES = 256;
+
+    /**
+     * Mots d'une même longueur et leurs ensembles de bits (indices locaux au groupe)
+     */
+    private static final class Groupe {
+        private int[] ids;
+        private int taille;
+
+        // positions[position * LETTRES + lettre] : mots ayant cette lettre à cette position
+        private final long[][] positions;
+
+        // presences[lettre] : mots contenant cette lettre au moins une fois
+        private final long[][] presences;
+
+        private Groupe(int longueur) {
+            this.ids = new int[16];
+            this.positions = new long[longueur * LETTRES][];
+            this.presences = new long[LETTRES][];
+        }
+
+        private Groupe(Groupe source) {
+            this.ids = source.ids;
+            this.taille = source.taille;
+            this.positions = source.positions.clone();
+            this.presences = source.presences.clone();
+        }
+
+        /**
+         * Ajoute un mot au groupe
+         * @param arena l'arène contenant le mot
+         * @param id indice du mot dans l'arène
+         */
+        private void ajouter(ArenaMots arena, int id) {
+            if (taille == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            int local = taille++;
+            ids[local] = id;
+
+            for (int position = 0; position < arena.longueur(id); position++) {
+                char lettre = arena.lettreRepliee(id, position);
+                int cle = position * LETTRES + lettre;
+                positions[cle] = activer(positions[cle], local);
+                presences[lettre] = activer(presences[lettre], local);
+            }
+        }
+    }
+
+    private final ArenaMots arena;
+    private final Groupe[] groupes;
+
+    /**
+     * Construit l'index de tous les mots présents dans l'arène
+     * @param arena l'arène (figée) des mots à indexer
+     */
+    IndexMotifs(ArenaMots arena) {
+        this(arena, new Groupe[0], 0);
+    }
+
+    /**
+     * Construit un index à partir de groupes existants en y ajoutant des mots
+     * @param arena l'arène contenant tous les mots
+     * @param groupes les groupes de départ (les groupes modifiés sont recopiés)
+     * @param premierId premier mot à ajouter ; tous les suivants jusqu'à la taille de l'arène le sont aussi
+     */
+    private IndexMotifs(ArenaMots arena, Groupe[] groupes, int premierId) {
+        this.arena = arena;
+
+        int longueurMax = groupes.length - 1;
+        for (int id = premierId; id < arena.taille(); id++) {
+            longueurMax = Math.max(longueurMax, arena.longueur(id));
+        }
+
+        Groupe[] nouveaux = Arrays.copyOf(groupes, longueurMax + 1);
+        boolean[] recopies = new boolean[nouveaux.length];
+        for (int id = premierId; id < arena.taille(); id++) {
+            int longueur = arena.longueur(id);
+            if (!recopies[longueur]) {
+                nouveaux[longueur] = nouveaux[longueur] == null
+                        ? new Groupe(longueur) : new Groupe(nouveaux[longueur]);
+                recopies[longueur] = true;
+            }
+            nouveaux[longueur].ajouter(arena, id);
+        }
+        this.groupes = nouveaux;
+    }
+
+    /**
+     * Retourne un nouvel index contenant en plus les mots ajoutés à l'arène depuis sa construction
+     * Cet index reste valide et inchangé pour ses lecteurs.
+     * @param arenaFigee l'arène figée la plus récente
+     * @param premierId indice du premier mot ajouté
+     * @return le nouvel index
+     */
+    IndexMotifs avec(ArenaMots arenaFigee, int premierId) {
+        return new IndexMotifs(arenaFigee, groupes, premierId);
+    }
+
+    /**
+     * Retourne les mots compatibles avec un masque et des lettres exclues
+     * Comme au pendu, une lettre révélée apparaît à toutes ses positions : les cases
+     * masquées ne peuvent donc pas contenir une lettre déjà révélée.
+     * @param motif lettres repliées révélées par position, 0 pour une case masquée
+     * @param exclues lettres repliées exclues (indicées par code Latin-1)
+     * @return les mots compatibles, dans l'ordre du dictionnaire
+     */
+    List<String> rechercher(char[] motif, boolean[] exclues) {
+        List<String> resultat = new ArrayList<>();
+        if (motif.length >= groupes.length || groupes[motif.length] == null) {
+            return resultat;
+        }
+
+        Groupe groupe = groupes[motif.length];
+        long[] candidats = new long[(groupe.taille + 63) >>> 6];
+        Arrays.fill(candidats, -1L);
+        if ((groupe.taille & 63) != 0) {
+            candidats[candidats.length - 1] = (1L << groupe.taille) - 1;
+        }
+
+        char[] revelees = new char[motif.length];
+        int nombreRevelees = 0;
+        for (char lettre : motif) {
+            if (lettre != 0 && !contient(revelees, nombreRevelees, lettre)) {
+                revelees[nombreRevelees++] = lettre;
+            }
+        }
+
+        for (int position = 0; position < motif.length; position++) {
+            if (motif[position] != 0) {
+                intersecter(candidats, groupe.positions[position * LETTRES + motif[position]]);
+            } else {
+                for (int i = 0; i < nombreRevelees; i++) {
+                    retirer(candidats, groupe.positions[position * LETTRES + revelees[i]]);
+                }
+            }
+        }
+
+        for (int lettre = 0; lettre < LETTRES; lettre++) {
+            if (exclues[lettre]) {
+                retirer(candidats, groupe.presences[lettre]);
+            }
+        }
+
+        for (int mot = 0; mot < candidats.length; mot++) {
+            long bits = candidats[mot];
+            while (bits != 0) {
+                int local = (mot << 6) + Long.numberOfTrailingZeros(bits);
+                resultat.add(arena.mot(groupe.ids[local]));
+                bits &= bits - 1;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Vérifie la présence d'une lettre dans le début d'un tableau
+     * @param lettres le tableau
+     * @param taille nombre de cases utilisées
+     * @param lettre la lettre cherchée
+     * @return true si la lettre est présente
+     */
+    private static boolean contient(char[] lettres, int taille, char lettre) {
+        for (int i = 0; i < taille; i++) {
+            if (lettres[i] == lettre) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Active un bit en agrandissant l'ensemble si nécessaire
+     * @param bits l'ensemble (peut être null)
+     * @param indice le bit à activer
+     * @return l'ensemble, éventuellement réalloué
+     */
+    private static long[] activer(long[] bits, int indice) {
+        int mot = indice >>> 6;
+        if (bits == null) {
+            bits = new long[Math.max(1, mot + 1)];
+        } else if (mot >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(mot + 1, bits.length * 2));
+        }
+        bits[mot] |= 1L << indice;
+        return bits;
+    }
+
+    /**
+     * Conserve uniquement les bits présents dans un autre ensemble (ET)
+     * @param cible l'ensemble modifié
+     * @param bits l'ensemble à intersecter (null = vide)
+     */
+    private static void intersecter(long[] cible, long[] bits) {
+        int commun = bits == null ? 0 : Math.min(cible.length, bits.length);
+        for (int i = 0; i < commun; i++) {
+            cible[i] &= bits[i];
+        }
+        Arrays.fill(cible, commun, cible.length, 0L);
+    }
+
+    /**
+     * Retire les bits présents dans un autre ensemble (ET NON)
+     * @param cible l'ensemble modifié
+     * @param bits l'ensemble à retirer (null = vide)
+     */
+    private static void retirer(long[] cible, long[] bits) {
+        if (bits == null) {
+            return;
+        }
+        int commun = Math.min(cible.length, bits.length);
+        for (int i = 0; i < commun; i++) {
+            cible[i] &= ~bits[i];
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package fr.ecn.medev.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Ingestion en continu de sources multiples (fichiers, fichiers .gz, dossiers, flux quelconques)
+ * Les octets sont lus par blocs et analysés au fil de l'eau : seul le bloc courant est en mémoire,
+ * jamais le fichier entier ni sa version décompressée.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class IngestionFlux {
+
+    /** Extension des fichiers compressés, décompressés à la volée */
+    static final String EXTENSION_GZIP = ".gz";
+
+    private static final int TAILLE_BLOC = 1 << 16;
+
+    private IngestionFlux() {
+    }
+
+    /**
+     * Analyse un fichier ou, pour un dossier, tous ses fichiers (sous-dossiers compris, par ordre de chemin)
+     * Les dictionnaires précompilés (.dict) présents dans un dossier sont ignorés.
+     * @param chemin le fichier ou dossier à lire
+     * @param destination arène recevant les mots acceptés
+     * @param bilan bilan recevant une entrée par fichier lu
+     * @throws IOException si un fichier est illisible ou mal compressé
+     */
+    static void analyserChemin(Path chemin, ArenaMots destination, BilanChargement bilan) throws IOException {
+        if (!Files.isDirectory(chemin)) {
+            analyserFichier(chemin, destination, bilan);
+            return;
+        }
+
+        List<Path> fichiers;
+        try (Stream<Path> parcours = Files.walk(chemin)) {
+            fichiers = parcours
+                    .filter(Files::isRegularFile)
+                    .filter(fichier -> !fichier.toString().endsWith(DictionnaireService.EXTENSION_BINAIRE))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Path fichier : fichiers) {
+            analyserFichier(fichier, destination, bilan);
+        }
+    }
+
+    /**
+     * Analyse un fichier, décompressé à la volée s'il se termine par .gz
+     * @param fichier le fichier à lire
+     * @param destination arène recevant les mots acceptés
+     * @param bilan bilan recevant l'entrée du fichier
+     * @throws IOException si le fichier est illisible ou mal compressé
+     */
+    private static void analyserFichier(Path fichier, ArenaMots destination, BilanChargement bilan)
+            throws IOException {
+        try (InputStream brut = Files.newInputStream(fichier);
+             InputStream flux = fichier.toString().endsWith(EXTENSION_GZIP)
+                     ? new GZIPInputStream(brut, TAILLE_BLOC) : brut) {
+            bilan.ajouter(analyserFlux(flux, fichier.toString(), destination));
+        }
+    }
+
+    /**
+     * Analyse un flux bloc par bloc ; une ligne coupée entre deux blocs est reportée au suivant
+     * @param flux le flux à lire jusqu'au bout (il n'est pas fermé)
+     * @param nom nom de la source dans le bilan
+     * @param destination arène recevant les mots acceptés
+     * @return les comptes de la source
+     * @throws IOException en cas d'erreur de lecture
+     */
+    static BilanChargement.Source analyserFlux(InputStream flux, String nom, ArenaMots destination)
+            throws IOException {
+        AnalyseurLignes analyseur = new AnalyseurLignes(
+                (lettres, longueur) -> destination.ajouter(lettres, 0, longueur));
+        byte[] bloc = new byte[TAILLE_BLOC];
+        ByteBuffer vue = ByteBuffer.wrap(bloc);
+        int rempli = 0;
+        int lus;
+
+        while ((lus = flux.read(bloc, rempli, bloc.length - rempli)) != -1) {
+            rempli += lus;
+
+            int fin = AnalyseurLignes.dernierSautDeLigne(vue, rempli) + 1;
+            if (fin > 0) {
+                analyseur.analyser(vue, 0, fin);
+                System.arraycopy(bloc, fin, bloc, 0, rempli - fin);
+                rempli -= fin;
+            } else if (rempli == bloc.length) {
+                // Ligne plus longue qu'un bloc : on agrandit plutôt que de la couper
+                bloc = Arrays.copyOf(bloc, bloc.length * 2);
+                vue = ByteBuffer.wrap(bloc);
+            }
+        }
+
+        analyseur.analyser(vue, 0, rempli);
+        return new BilanChargement.Source(nom, analyseur.acceptees(), analyseur.rejetees());
+    }
+}
@@ -0,0 +1,150 @@
+package fr.ecn.medev.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ingestion parallèle d'un fichier dictionnaire découpé en morceaux alignés sur les sauts de ligne
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class IngestionParallele {
+
+    // Taille maximale d'une projection mémoire (limite des ByteBuffer)
+    private static final long TAILLE_SEGMENT = 1L << 30;
+
+    // Nombre de morceaux par thread, pour équilibrer la charge entre les cœurs
+    private static final int MORCEAUX_PAR_THREAD = 4;
+
+    // En dessous de cette taille, découper ne rapporte rien
+    private static final int TAILLE_MORCEAU_MIN = 64 * 1024;
+
+    /**
+     * Portion d'un segment projeté, délimitée par des sauts de ligne
+     */
+    private static final class Morceau {
+        private final MappedByteBuffer segment;
+        private final int debut;
+        private final int fin;
+        private final ArenaMots mots = new ArenaMots();
+        private int[] hachages;
+
+        private Morceau(MappedByteBuffer segment, int debut, int fin) {
+            this.segment = segment;
+            this.debut = debut;
+            this.fin = fin;
+        }
+    }
+
+    /**
+     * Tâche fork/join qui divise la liste de morceaux en deux jusqu'à n'en traiter qu'un
+     */
+    private static final class TacheAnalyse extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Morceau> morceaux;
+        private final int debut;
+        private final int fin;
+
+        private TacheAnalyse(List<Morceau> morceaux, int debut, int fin) {
+            this.morceaux = morceaux;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut == 1) {
+                Morceau morceau = morceaux.get(debut);
+                new AnalyseurLignes((lettres, longueur) -> morceau.mots.ajouter(lettres, 0, longueur))
+                        .analyser(morceau.segment, morceau.debut, morceau.fin);
+                // Hachages calculés ici, en parallèle : la fusion n'a plus qu'à sonder la table
+                morceau.hachages = morceau.mots.hachages();
+                return;
+            }
+
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new TacheAnalyse(morceaux, debut, milieu), new TacheAnalyse(morceaux, milieu, fin));
+        }
+    }
+
+    private IngestionParallele() {
+    }
+
+    /**
+     * Analyse un fichier en parallèle puis transmet les mots dans l'ordre du fichier
+     * @param chemin le fichier à lire
+     * @param parallelisme nombre de threads du pool fork/join
+     * @param destination arène recevant les mots acceptés, dans l'ordre où ils apparaissent
+     * @throws IOException si le fichier n'existe pas ou est illisible
+     */
+    static void analyserFichier(Path chemin, int parallelisme, ArenaMots destination) throws IOException {
+        List<Morceau> morceaux = new ArrayList<>();
+
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            long position = 0;
+
+            while (position < taille) {
+                long longueur = Math.min(TAILLE_SEGMENT, taille - position);
+                MappedByteBuffer segment = canal.map(FileChannel.MapMode.READ_ONLY, position, longueur);
+
+                int fin = (int) longueur;
+                if (position + longueur < taille) {
+                    fin = AnalyseurLignes.dernierSautDeLigne(segment, fin) + 1;
+                    if (fin == 0) {
+                        throw new IOException("Ligne trop longue dans " + chemin);
+                    }
+                }
+
+                decouper(segment, fin, parallelisme * MORCEAUX_PAR_THREAD, morceaux);
+                position += fin;
+            }
+        }
+
+        if (morceaux.isEmpty()) {
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            pool.invoke(new TacheAnalyse(morceaux, 0, morceaux.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        // Fusion dans l'ordre des morceaux : le résultat ne dépend pas de l'ordonnancement
+        for (Morceau morceau : morceaux) {
+            destination.ajouterTout(morceau.mots, morceau.hachages);
+        }
+    }
+
+    /**
+     * Découpe un segment en morceaux de taille proche, chaque coupure étant repoussée au saut de ligne suivant
+     * @param segment le segment projeté
+     * @param fin taille utile du segment
+     * @param nombreCible nombre de morceaux souhaité
+     * @param morceaux liste recevant les morceaux produits
+     */
+    private static void decouper(MappedByteBuffer segment, int fin, int nombreCible, List<Morceau> morceaux) {
+        int tailleMorceau = Math.max(TAILLE_MORCEAU_MIN, fin / Math.max(1, nombreCible));
+        int debut = 0;
+
+        while (debut < fin) {
+            int coupure = (int) Math.min((long) debut + tailleMorceau, fin);
+            while (coupure < fin && segment.get(coupure - 1) != '\n') {
+                coupure++;
+            }
+
+            morceaux.add(new Morceau(segment, debut, coupure));
+            debut = coupure;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package fr.ecn.medev.service;
+
+/**
+ * État immuable du dictionnaire à un instant donné, publié d'un bloc par DictionnaireService
+ * Les lecteurs n'utilisent qu'un instantané à la fois et ne prennent jamais de verrou.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class InstantaneDictionnaire {
+
+    final ArenaMots arena;
+    final RepartitionMots repartition;
+
+    // Construit au premier test d'appartenance, puis partagé avec les instantanés suivants
+    // tant qu'il n'est pas redimensionné
+    private volatile FiltreBloom filtre;
+
+    // Construites à la première requête de comptage, puis tenues à jour à chaque ajout
+    private volatile StatistiquesLettres statistiques;
+
+    // Construit à la première recherche par motif ; une construction concurrente est sans danger
+    private volatile IndexMotifs indexMotifs;
+
+    // Prolongé depuis l'instantané précédent, ou construit une seule fois à la première requête par préfixe
+    private volatile GrapheMots graphe;
+
+    /**
+     * Constructeur d'un instantané
+     * @param arena l'arène figée
+     * @param repartition la répartition figée
+     * @param filtre le filtre de Bloom contenant au moins tous les mots de l'arène (peut être null)
+     * @param statistiques les statistiques de lettres des mots de l'arène (peut être null)
+     * @param indexMotifs l'index des motifs s'il est déjà disponible (peut être null)
+     * @param graphe le graphe des mots s'il est déjà disponible (peut être null)
+     */
+    InstantaneDictionnaire(ArenaMots arena, RepartitionMots repartition, FiltreBloom filtre,
+                           StatistiquesLettres statistiques, IndexMotifs indexMotifs, GrapheMots graphe) {
+        this.arena = arena;
+        this.repartition = repartition;
+        this.filtre = filtre;
+        this.statistiques = statistiques;
+        this.indexMotifs = indexMotifs;
+        this.graphe = graphe;
+    }
+
+    /**
+     * Retourne le filtre de Bloom, construit à la demande
+     * Une construction concurrente est sans danger : chaque filtre contient tous les mots de l'arène.
+     * @return le filtre de cet instantané
+     */
+    FiltreBloom filtre() {
+        FiltreBloom resultat = filtre;
+        if (resultat == null) {
+            resultat = FiltreBloom.pour(arena);
+            filtre = resultat;
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne les statistiques de lettres, calculées à la demande
+     * @return les statistiques de cet instantané
+     */
+    StatistiquesLettres statistiques() {
+        StatistiquesLettres resultat = statistiques;
+        if (resultat == null) {
+            resultat = new StatistiquesLettres(arena);
+            statistiques = resultat;
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne l'index des motifs, construit à la demande
+     * @return l'index des motifs de cet instantané
+     */
+    IndexMotifs indexMotifs() {
+        IndexMotifs index = indexMotifs;
+        if (index == null) {
+            index = new IndexMotifs(arena);
+            indexMotifs = index;
+        }
+        return index;
+    }
+
+    /**
+     * Retourne le graphe minimal des mots, construit à la demande
+     * La construction trie et minimise tous les mots : elle n'est faite qu'une fois,
+     * les lecteurs concurrents attendent son résultat.
+     * @return le graphe des mots de cet instantané
+     */
+    GrapheMots graphe() {
+        GrapheMots resultat = graphe;
+        if (resultat == null) {
+            synchronized (this) {
+                resultat = graphe;
+                if (resultat == null) {
+                    resultat = new GrapheMots(arena);
+                    graphe = resultat;
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne le filtre de Bloom uniquement s'il a déjà été construit
+     * @return le filtre, ou null
+     */
+    FiltreBloom filtreSiConstruit() {
+        return filtre;
+    }
+
+    /**
+     * Retourne les statistiques de lettres uniquement si elles ont déjà été calculées
+     * @return les statistiques, ou null
+     */
+    StatistiquesLettres statistiquesSiConstruites() {
+        return statistiques;
+    }
+
+    /**
+     * Retourne l'index des motifs uniquement s'il a déjà été construit
+     * @return l'index, ou null
+     */
+    IndexMotifs indexMotifsSiConstruit() {
+        return indexMotifs;
+    }
+
+    /**
+     * Retourne le graphe des mots uniquement s'il a déjà été construit
+     * @return le graphe, ou null
+     */
+    GrapheMots grapheSiConstruit() {
+        return graphe;
+    }
+}
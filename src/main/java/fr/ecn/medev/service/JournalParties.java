@@ -0,0 +1,419 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.EtatPartie;
+import fr.ecn.medev.model.InstantanePartie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal des parties en ajout seul : chaque démarrage de partie, chaque lettre proposée, chaque
+ * abandon et chaque fermeture de session y est enregistré comme un événement binaire de taille fixe
+ * Un événement fait 32 octets (petit-boutiste) : type, un octet et un court selon le type,
+ * identifiant de session, horodatage en millisecondes, 12 octets de données, puis un CRC32C
+ * des 28 premiers octets. Un démarrage est suivi des caractères du mot, 6 par événement.
+ * Les événements sont accumulés en mémoire ; synchroniser() les écrit et appelle force()
+ * une seule fois pour tous les événements en attente, y compris ceux des autres threads
+ * (validation groupée). À la réouverture, une fin d'écriture interrompue est tronquée ; un événement
+ * corrompu suivi d'événements valides fait au contraire échouer l'ouverture, sans rien tronquer.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+public final class JournalParties implements Closeable {
+
+    /** Taille d'un événement en octets */
+    static final int TAILLE_EVENEMENT = 32;
+
+    static final byte TYPE_DEBUT = 1;
+    static final byte TYPE_MOT = 2;
+    static final byte TYPE_LETTRE = 3;
+    static final byte TYPE_FIN = 4;
+    static final byte TYPE_ABANDON = 5;
+
+    private static final int CARACTERES_PAR_EVENEMENT = 6;
+    private static final int OFFSET_DONNEES = 16;
+    private static final int OFFSET_CRC = 28;
+    private static final int TAILLE_BLOC = 1 << 16;
+    private static final int OCTET_MAX = 0xFF;
+
+    private final FileChannel canal;
+
+    // Réutilisé pour chaque événement enregistré, sous le verrou
+    private final CRC32C crcEcriture = new CRC32C();
+
+    // Événements en attente d'écriture ; le verrou garde aussi les compteurs
+    private final Object verrou = new Object();
+    private ByteBuffer enAttente;
+    private ByteBuffer libre;
+    private long nombreEnregistres;
+    private long nombreDurables;
+    private boolean ecritureEnCours;
+    private IOException echec;
+
+    private final Map<Integer, InstantanePartie> sessionsRestaurees;
+
+    /**
+     * Ouvre (ou crée) un journal en ajout et rejoue son contenu
+     * Les derniers événements incomplets ou corrompus (arrêt brutal pendant l'écriture) sont retirés du fichier.
+     * @param cheminFichier le chemin du journal
+     * @throws IOException si le fichier ne peut pas être ouvert, ou s'il est corrompu avant sa fin
+     */
+    public JournalParties(String cheminFichier) throws IOException {
+        this.canal = FileChannel.open(Paths.get(cheminFichier),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Rejeu rejeu = new Rejeu();
+            long finValide = parcourir(canal, rejeu);
+            if (finValide < canal.size()) {
+                canal.truncate(finValide);
+            }
+            canal.position(finValide);
+            this.sessionsRestaurees = rejeu.sessionsRestaurees();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        this.enAttente = nouveauTampon(TAILLE_BLOC);
+        this.libre = nouveauTampon(TAILLE_BLOC);
+    }
+
+    /**
+     * Rejoue un journal sans le modifier (audit, reprise sur une autre machine)
+     * @param cheminFichier le chemin du journal
+     * @return le dernier état de chaque session, par identifiant de session (non modifiable)
+     * @throws IOException si le fichier est illisible, ou s'il est corrompu avant sa fin
+     */
+    public static Map<Integer, InstantanePartie> rejouer(String cheminFichier) throws IOException {
+        try (FileChannel lecture = FileChannel.open(Paths.get(cheminFichier), StandardOpenOption.READ)) {
+            Rejeu rejeu = new Rejeu();
+            parcourir(lecture, rejeu);
+            return rejeu.sessionsRestaurees();
+        }
+    }
+
+    /**
+     * Retourne l'état des sessions tel que rejoué à l'ouverture du journal
+     * @return le dernier état de chaque session, sans historique, par identifiant de session (non modifiable)
+     */
+    public Map<Integer, InstantanePartie> getSessionsRestaurees() {
+        return sessionsRestaurees;
+    }
+
+    /**
+     * Enregistre le démarrage d'une partie
+     * @param session l'identifiant de session
+     * @param mot le mot à deviner
+     * @param erreursMax le nombre maximum d'erreurs autorisées
+     * @return le numéro de l'événement, à passer à synchroniser()
+     * @throws IllegalArgumentException si erreursMax dépasse 255 ou si le mot dépasse 65535 caractères
+     */
+    public long enregistrerDebut(int session, String mot, int erreursMax) {
+        if (erreursMax > OCTET_MAX || mot.length() > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Partie trop grande pour être journalisée");
+        }
+
+        long horodatage = System.currentTimeMillis();
+        synchronized (verrou) {
+            int morceaux = (mot.length() + CARACTERES_PAR_EVENEMENT - 1) / CARACTERES_PAR_EVENEMENT;
+            reserver(1 + morceaux);
+            ecrireEvenement(TYPE_DEBUT, erreursMax, (char) mot.length(), session, horodatage, mot, 0);
+            for (int debut = 0; debut < mot.length(); debut += CARACTERES_PAR_EVENEMENT) {
+                ecrireEvenement(TYPE_MOT, 0, (char) 0, session, horodatage, mot, debut);
+            }
+            nombreEnregistres += 1 + morceaux;
+            return nombreEnregistres;
+        }
+    }
+
+    /**
+     * Enregistre une lettre proposée
+     * @param session l'identifiant de session
+     * @param lettre la lettre telle que proposée
+     * @return le numéro de l'événement, à passer à synchroniser()
+     */
+    public long enregistrerLettre(int session, char lettre) {
+        long horodatage = System.currentTimeMillis();
+        synchronized (verrou) {
+            reserver(1);
+            ecrireEvenement(TYPE_LETTRE, 0, lettre, session, horodatage, null, 0);
+            return ++nombreEnregistres;
+        }
+    }
+
+    /**
+     * Enregistre l'abandon de la partie d'une session (délai de proposition dépassé)
+     * @param session l'identifiant de session
+     * @return le numéro de l'événement, à passer à synchroniser()
+     */
+    public long enregistrerAbandon(int session) {
+        long horodatage = System.currentTimeMillis();
+        synchronized (verrou) {
+            reserver(1);
+            ecrireEvenement(TYPE_ABANDON, 0, (char) 0, session, horodatage, null, 0);
+            return ++nombreEnregistres;
+        }
+    }
+
+    /**
+     * Enregistre la fermeture d'une session : le rejeu l'oublie
+     * @param session l'identifiant de session
+     * @return le numéro de l'événement, à passer à synchroniser()
+     */
+    public long enregistrerFin(int session) {
+        long horodatage = System.currentTimeMillis();
+        synchronized (verrou) {
+            reserver(1);
+            ecrireEvenement(TYPE_FIN, 0, (char) 0, session, horodatage, null, 0);
+            return ++nombreEnregistres;
+        }
+    }
+
+    /**
+     * Rend durables tous les événements jusqu'au numéro donné
+     * Si une écriture est déjà en cours, on attend sa fin ; sinon ce thread écrit et force
+     * tout ce qui est en attente, pour lui et pour les autres.
+     * @param numero le numéro retourné par l'enregistrement
+     * @throws IOException si l'écriture ou la synchronisation sur disque échoue
+     */
+    public void synchroniser(long numero) throws IOException {
+        ByteBuffer aEcrire;
+        long cible;
+        synchronized (verrou) {
+            while (true) {
+                if (echec != null) {
+                    throw new IOException("Le journal n'est plus utilisable", echec);
+                }
+                if (nombreDurables >= numero) {
+                    return;
+                }
+                if (!ecritureEnCours) {
+                    break;
+                }
+                try {
+                    verrou.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Synchronisation du journal interrompue", e);
+                }
+            }
+
+            // On échange les tampons : les enregistrements continuent pendant l'écriture
+            aEcrire = enAttente;
+            enAttente = libre;
+            libre = null;
+            cible = nombreEnregistres;
+            ecritureEnCours = true;
+        }
+
+        IOException erreur = null;
+        try {
+            aEcrire.flip();
+            while (aEcrire.hasRemaining()) {
+                canal.write(aEcrire);
+            }
+            canal.force(false);
+        } catch (IOException e) {
+            erreur = e;
+        }
+
+        synchronized (verrou) {
+            aEcrire.clear();
+            libre = aEcrire;
+            ecritureEnCours = false;
+            if (erreur == null) {
+                nombreDurables = cible;
+            } else {
+                echec = erreur;
+            }
+            verrou.notifyAll();
+        }
+        if (erreur != null) {
+            throw erreur;
+        }
+    }
+
+    /**
+     * Rend durables tous les événements enregistrés jusqu'ici
+     * @throws IOException si l'écriture ou la synchronisation sur disque échoue
+     */
+    public void synchroniser() throws IOException {
+        long numero;
+        synchronized (verrou) {
+            numero = nombreEnregistres;
+        }
+        synchroniser(numero);
+    }
+
+    /**
+     * Synchronise les événements en attente puis ferme le fichier
+     * @throws IOException si l'écriture ou la fermeture échoue
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            synchroniser();
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * S'assure que le tampon en attente peut recevoir des événements (verrou tenu)
+     * @param nombre nombre d'événements à écrire
+     */
+    private void reserver(int nombre) {
+        int requis = nombre * TAILLE_EVENEMENT;
+        if (enAttente.remaining() < requis) {
+            int capacite = Math.max(enAttente.capacity() * 2, enAttente.position() + requis);
+            ByteBuffer agrandi = nouveauTampon(capacite);
+            enAttente.flip();
+            agrandi.put(enAttente);
+            enAttente = agrandi;
+        }
+    }
+
+    /**
+     * Écrit un événement dans le tampon en attente (verrou tenu, place réservée)
+     */
+    private void ecrireEvenement(byte type, int octet, char court, int session, long horodatage,
+                                 String mot, int debutMot) {
+        int debut = enAttente.position();
+        enAttente.put(type);
+        enAttente.put((byte) octet);
+        enAttente.putChar(court);
+        enAttente.putInt(session);
+        enAttente.putLong(horodatage);
+        for (int i = 0; i < CARACTERES_PAR_EVENEMENT; i++) {
+            int indice = debutMot + i;
+            enAttente.putChar(type == TYPE_MOT && indice < mot.length() ? mot.charAt(indice) : 0);
+        }
+        enAttente.putInt(crc(crcEcriture, enAttente, debut));
+    }
+
+    /**
+     * Calcule le CRC des 28 premiers octets d'un événement, sans copie ni allocation
+     * @param crc le calculateur, réinitialisé avant usage
+     * @param tampon le tampon (sur tableau) contenant l'événement
+     * @param debut la position de l'événement
+     * @return le CRC attendu de l'événement
+     */
+    private static int crc(CRC32C crc, ByteBuffer tampon, int debut) {
+        crc.reset();
+        crc.update(tampon.array(), tampon.arrayOffset() + debut, OFFSET_CRC);
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer nouveauTampon(int capacite) {
+        return ByteBuffer.allocate(capacite).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Lit les événements d'un journal bloc par bloc et les passe au rejeu
+     * Seule la fin du fichier peut être invalide (écriture interrompue) : des événements corrompus
+     * suivis d'un événement valide signalent une corruption, qui n'est pas passée sous silence.
+     * @param lecture le canal du journal
+     * @param rejeu le rejeu alimenté
+     * @return la position de fin du dernier événement valide
+     * @throws IOException si la lecture échoue ou si un événement corrompu précède un événement valide
+     */
+    private static long parcourir(FileChannel lecture, Rejeu rejeu) throws IOException {
+        ByteBuffer bloc = nouveauTampon(TAILLE_BLOC);
+        CRC32C crc = new CRC32C();
+        long position = 0;
+        // Position du premier événement invalide, -1 tant que tous sont valides
+        long premierInvalide = -1;
+        while (lecture.read(bloc, position + bloc.position()) > 0 || bloc.position() > 0) {
+            bloc.flip();
+            while (bloc.remaining() >= TAILLE_EVENEMENT) {
+                int debut = bloc.position();
+                if (bloc.getInt(debut + OFFSET_CRC) != crc(crc, bloc, debut)) {
+                    if (premierInvalide < 0) {
+                        premierInvalide = position;
+                    }
+                } else if (premierInvalide >= 0) {
+                    throw new IOException("Journal corrompu : événement invalide à la position " + premierInvalide);
+                } else {
+                    rejeu.appliquer(bloc, debut);
+                }
+                bloc.position(debut + TAILLE_EVENEMENT);
+                position += TAILLE_EVENEMENT;
+            }
+            if (bloc.hasRemaining() && lecture.size() <= position + bloc.remaining()) {
+                // Événement incomplet en fin de fichier
+                break;
+            }
+            bloc.compact();
+        }
+        return premierInvalide >= 0 ? premierInvalide : position;
+    }
+
+    /**
+     * Reconstruit l'état des sessions au fil des événements
+     */
+    private static final class Rejeu {
+        private final Map<Integer, InstantanePartie> sessions = new HashMap<>();
+
+        // Démarrage en cours de lecture : ses caractères arrivent dans les événements suivants
+        private int sessionEnCours;
+        private int erreursMax;
+        private char[] mot;
+        private int lus;
+
+        /**
+         * Retourne les sessions rejouées, chacune détachée des instantanés intermédiaires du rejeu
+         * @return vue non modifiable des sessions
+         */
+        private Map<Integer, InstantanePartie> sessionsRestaurees() {
+            sessions.replaceAll((session, partie) -> partie.sansHistorique());
+            return Collections.unmodifiableMap(sessions);
+        }
+
+        private void appliquer(ByteBuffer bloc, int debut) {
+            byte type = bloc.get(debut);
+            int session = bloc.getInt(debut + 4);
+            switch (type) {
+                case TYPE_DEBUT:
+                    sessionEnCours = session;
+                    erreursMax = bloc.get(debut + 1) & OCTET_MAX;
+                    mot = new char[bloc.getChar(debut + 2)];
+                    lus = 0;
+                    break;
+                case TYPE_MOT:
+                    for (int i = 0; i < CARACTERES_PAR_EVENEMENT && mot != null && lus < mot.length; i++) {
+                        mot[lus++] = bloc.getChar(debut + OFFSET_DONNEES + 2 * i);
+                    }
+                    if (mot != null && lus == mot.length) {
+                        sessions.put(sessionEnCours, new InstantanePartie(new String(mot), erreursMax));
+                        mot = null;
+                    }
+                    break;
+                case TYPE_LETTRE:
+                    InstantanePartie partie = sessions.get(session);
+                    if (partie != null && partie.getEtat() == EtatPartie.EN_COURS) {
+                        sessions.put(session, partie.proposerLettre(bloc.getChar(debut + 2)));
+                    }
+                    break;
+                case TYPE_FIN:
+                    sessions.remove(session);
+                    break;
+                case TYPE_ABANDON:
+                    InstantanePartie abandonnee = sessions.get(session);
+                    if (abandonnee != null && abandonnee.getEtat() == EtatPartie.EN_COURS) {
+                        sessions.put(session, abandonnee.abandonner());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
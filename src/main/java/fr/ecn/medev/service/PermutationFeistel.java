@@ -0,0 +1,54 @@
+package fr.ecn.medev.service;
+
+/**
+ * Permutation pseudo-aléatoire de [0, taille[ calculée à la demande par un réseau de Feistel
+ * Le réseau permute un domaine de 2^k valeurs (la plus petite puissance de 4 couvrant la taille) ;
+ * les images hors de [0, taille[ sont renvoyées dans le réseau jusqu'à retomber dedans
+ * (« cycle walking »), ce qui reste une bijection et coûte en moyenne moins de 4 passages.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class PermutationFeistel {
+
+    private static final int TOURS = 4;
+
+    private PermutationFeistel() {
+    }
+
+    /**
+     * Retourne l'image d'un indice par la permutation associée à une clé
+     * @param indice l'indice dans [0, taille[
+     * @param taille taille du domaine (strictement positive)
+     * @param cle clé choisissant la permutation
+     * @return l'image, dans [0, taille[ ; deux indices distincts ont toujours deux images distinctes
+     */
+    static int permuter(int indice, int taille, long cle) {
+        int bitsDemi = Math.max(1, (33 - Integer.numberOfLeadingZeros(taille - 1)) >>> 1);
+        long masque = (1L << bitsDemi) - 1;
+
+        long valeur = indice;
+        do {
+            long gauche = valeur >>> bitsDemi;
+            long droite = valeur & masque;
+            for (int tour = 0; tour < TOURS; tour++) {
+                long suivante = gauche ^ (melanger(droite + cle + tour * 0x9E3779B97F4A7C15L) & masque);
+                gauche = droite;
+                droite = suivante;
+            }
+            valeur = (gauche << bitsDemi) | droite;
+        } while (valeur >= taille);
+
+        return (int) valeur;
+    }
+
+    /**
+     * Fonction de mélange de SplitMix64 : chaque bit d'entrée influence tous les bits de sortie
+     * @param valeur la valeur à mélanger
+     * @return la valeur mélangée
+     */
+    static long melanger(long valeur) {
+        valeur = (valeur ^ (valeur >>> 30)) * 0xBF58476D1CE4E5B9L;
+        valeur = (valeur ^ (valeur >>> 27)) * 0x94D049BB133111EBL;
+        return valeur ^ (valeur >>> 31);
+    }
+}
@@ -0,0 +1,50 @@
+package fr.ecn.medev.service;
+
+/**
+ * Délais d'expiration des sessions de GestionnairePartie, en millisecondes ; 0 désactive un délai
+ * @author Imane Laasri
+ * @version 1.0
+ */
+public final class ReglesExpiration {
+
+    private final long inactivite;
+    private final long dureeDeVie;
+    private final long delaiParCoup;
+
+    /**
+     * Constructeur des règles
+     * @param inactivite durée sans démarrage ni proposition après laquelle la session est fermée
+     * @param dureeDeVie durée après l'ouverture de la session au bout de laquelle elle est fermée
+     * @param delaiParCoup temps laissé pour chaque proposition, après quoi la partie en cours est abandonnée
+     * @throws IllegalArgumentException si un délai est négatif
+     */
+    public ReglesExpiration(long inactivite, long dureeDeVie, long delaiParCoup) {
+        if (inactivite < 0 || dureeDeVie < 0 || delaiParCoup < 0) {
+            throw new IllegalArgumentException("Les délais ne peuvent pas être négatifs");
+        }
+        this.inactivite = inactivite;
+        this.dureeDeVie = dureeDeVie;
+        this.delaiParCoup = delaiParCoup;
+    }
+
+    /**
+     * @return délai d'inactivité en millisecondes, 0 si désactivé
+     */
+    public long getInactivite() {
+        return inactivite;
+    }
+
+    /**
+     * @return durée de vie d'une session en millisecondes, 0 si désactivée
+     */
+    public long getDureeDeVie() {
+        return dureeDeVie;
+    }
+
+    /**
+     * @return délai par proposition en millisecondes, 0 si désactivé
+     */
+    public long getDelaiParCoup() {
+        return delaiParCoup;
+    }
+}
@@ -0,0 +1,281 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.Difficulte;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Répartition des mots par longueur et par difficulté, pour des tirages filtrés en temps constant
+ * Comme pour ArenaMots, les groupes ne sont modifiés qu'au-delà de leur taille : une copie
+ * figée partage les tableaux d'indices et ne recopie que les petits tableaux de tailles.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class RepartitionMots {
+
+    private final ArenaMots arena;
+
+    // parLongueur[l] : indices des mots de l > 0 lettres
+    private int[][] parLongueur;
+    private int[] taillesLongueur;
+
+    // cumuls[l] : nombre de mots de longueur strictement inférieure à l
+    private int[] cumuls;
+    private boolean cumulsAJour;
+
+    private final int[][] parDifficulte;
+    private final int[] taillesDifficulte;
+
+    // Une répartition figée est en lecture seule
+    private final boolean figee;
+
+    /**
+     * Construit la répartition de tous les mots présents dans l'arène
+     * @param arena l'arène des mots
+     */
+    RepartitionMots(ArenaMots arena) {
+        this.arena = arena;
+        this.parLongueur = new int[0][];
+        this.taillesLongueur = new int[0];
+        this.parDifficulte = new int[Difficulte.values().length][];
+        this.taillesDifficulte = new int[Difficulte.values().length];
+
+        for (int i = 0; i < parDifficulte.length; i++) {
+            parDifficulte[i] = new int[16];
+        }
+        this.figee = false;
+        for (int i = 0; i < arena.taille(); i++) {
+            ajouter(i);
+        }
+    }
+
+    /**
+     * Constructeur d'une copie figée : seuls les tableaux de références et de tailles sont copiés
+     * @param source la répartition à figer
+     */
+    private RepartitionMots(RepartitionMots source) {
+        this.arena = source.arena;
+        this.parLongueur = source.parLongueur.clone();
+        this.taillesLongueur = source.taillesLongueur.clone();
+        this.parDifficulte = source.parDifficulte.clone();
+        this.taillesDifficulte = source.taillesDifficulte.clone();
+        this.figee = true;
+        calculerCumuls();
+    }
+
+    /**
+     * Constructeur relisant les groupes d'un dictionnaire binaire (copies en bloc, sans recalcul)
+     * @param arena l'arène déjà relue
+     * @param lecteur le lecteur positionné sur la section des groupes
+     * @param nombreLongueurs nombre de groupes de longueur
+     * @throws IOException si le fichier est tronqué ou incohérent
+     */
+    RepartitionMots(ArenaMots arena, FichierDictionnaire.Lecteur lecteur, int nombreLongueurs) throws IOException {
+        if (nombreLongueurs < 0) {
+            throw new IOException("En-tête de dictionnaire binaire incohérent");
+        }
+        this.arena = arena;
+        this.taillesLongueur = lecteur.lireEntiers(nombreLongueurs, nombreLongueurs);
+        this.parLongueur = new int[nombreLongueurs][];
+        for (int l = 0; l < nombreLongueurs; l++) {
+            parLongueur[l] = lireGroupe(lecteur, taillesLongueur[l], arena.taille());
+        }
+
+        int nombreDifficultes = lecteur.lireEntiers(1, 1)[0];
+        if (nombreDifficultes != Difficulte.values().length) {
+            throw new IOException("Niveaux de difficulté incompatibles avec ce dictionnaire binaire");
+        }
+        this.taillesDifficulte = lecteur.lireEntiers(nombreDifficultes, nombreDifficultes);
+        this.parDifficulte = new int[nombreDifficultes][];
+        for (int i = 0; i < nombreDifficultes; i++) {
+            parDifficulte[i] = lireGroupe(lecteur, taillesDifficulte[i], arena.taille());
+        }
+        this.figee = false;
+    }
+
+    /**
+     * Retourne une vue en lecture seule de l'état actuel (coût proportionnel à la longueur maximale)
+     * @return la répartition figée
+     */
+    RepartitionMots figer() {
+        return new RepartitionMots(this);
+    }
+
+    /**
+     * Range un mot ajouté à l'arène dans ses groupes
+     * @param id indice du mot dans l'arène
+     */
+    void ajouter(int id) {
+        if (figee) {
+            throw new IllegalStateException("Une répartition figée est en lecture seule");
+        }
+
+        int longueur = arena.longueur(id);
+        if (longueur >= parLongueur.length) {
+            int ancienne = parLongueur.length;
+            parLongueur = Arrays.copyOf(parLongueur, longueur + 1);
+            taillesLongueur = Arrays.copyOf(taillesLongueur, longueur + 1);
+            for (int l = ancienne; l <= longueur; l++) {
+                parLongueur[l] = new int[16];
+            }
+        }
+        parLongueur[longueur] = ajouterA(parLongueur[longueur], taillesLongueur[longueur]++, id);
+        cumulsAJour = false;
+
+        int niveau = Difficulte.pour(lettresDistinctes(id)).ordinal();
+        parDifficulte[niveau] = ajouterA(parDifficulte[niveau], taillesDifficulte[niveau]++, id);
+    }
+
+    /**
+     * Tire un mot dont la longueur est comprise entre deux bornes (un seul tirage)
+     * @param longueurMin longueur minimale incluse
+     * @param longueurMax longueur maximale incluse
+     * @param source la source de hasard
+     * @return l'indice du mot tiré, ou -1 si aucun mot n'a une longueur dans l'intervalle
+     */
+    int tirer(int longueurMin, int longueurMax, SourceAleatoire source) {
+        if (!cumulsAJour) {
+            calculerCumuls();
+        }
+
+        int debut = cumul(longueurMin);
+        // Borne ramenée avant l'addition : longueurMax + 1 déborderait pour Integer.MAX_VALUE
+        int fin = longueurMax >= cumuls.length - 1 ? cumuls[cumuls.length - 1] : cumul(longueurMax + 1);
+        int total = fin - debut;
+        if (total <= 0) {
+            return -1;
+        }
+
+        int rang = debut + source.tirer(total);
+
+        // cumuls est croissant : on cherche la dernière longueur l telle que cumuls[l] <= rang
+        int position = Arrays.binarySearch(cumuls, rang);
+        int longueur;
+        if (position >= 0) {
+            longueur = position;
+            while (longueur + 1 < cumuls.length && cumuls[longueur + 1] == rang) {
+                longueur++;
+            }
+        } else {
+            longueur = -position - 2;
+        }
+        return parLongueur[longueur][rang - cumuls[longueur]];
+    }
+
+    /**
+     * Tire un mot d'un niveau de difficulté
+     * @param difficulte le niveau voulu
+     * @param source la source de hasard
+     * @return l'indice du mot tiré, ou -1 si aucun mot n'a ce niveau
+     */
+    int tirer(Difficulte difficulte, SourceAleatoire source) {
+        int niveau = difficulte.ordinal();
+        if (taillesDifficulte[niveau] == 0) {
+            return -1;
+        }
+        return parDifficulte[niveau][source.tirer(taillesDifficulte[niveau])];
+    }
+
+    /**
+     * Retourne le nombre de groupes de longueur (longueur maximale + 1)
+     * @return nombre de groupes
+     */
+    int nombreLongueurs() {
+        return parLongueur.length;
+    }
+
+    /**
+     * Écrit les groupes au format binaire
+     * @param ecrivain destination
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void ecrire(FichierDictionnaire.Ecrivain ecrivain) throws IOException {
+        ecrivain.ecrireEntiers(taillesLongueur, taillesLongueur.length);
+        for (int l = 0; l < parLongueur.length; l++) {
+            ecrivain.ecrireEntiers(parLongueur[l], taillesLongueur[l]);
+        }
+
+        ecrivain.ecrireEntier(parDifficulte.length);
+        ecrivain.ecrireEntiers(taillesDifficulte, taillesDifficulte.length);
+        for (int i = 0; i < parDifficulte.length; i++) {
+            ecrivain.ecrireEntiers(parDifficulte[i], taillesDifficulte[i]);
+        }
+    }
+
+    /**
+     * Relit un groupe d'indices en vérifiant sa taille
+     * @param lecteur le lecteur
+     * @param taille nombre d'indices du groupe
+     * @param nombreMots nombre total de mots
+     * @return le tableau d'indices (avec une marge pour les ajouts)
+     * @throws IOException si la taille est incohérente
+     */
+    private static int[] lireGroupe(FichierDictionnaire.Lecteur lecteur, int taille, int nombreMots)
+            throws IOException {
+        if (taille < 0 || taille > nombreMots) {
+            throw new IOException("Groupe de mots incohérent dans le dictionnaire binaire");
+        }
+        int[] groupe = lecteur.lireEntiers(taille, Math.max(taille, 16));
+        for (int i = 0; i < taille; i++) {
+            if (groupe[i] < 0 || groupe[i] >= nombreMots) {
+                throw new IOException("Groupe de mots incohérent dans le dictionnaire binaire");
+            }
+        }
+        return groupe;
+    }
+
+    /**
+     * Recalcule les sommes cumulées des tailles de groupes
+     */
+    private void calculerCumuls() {
+        cumuls = new int[taillesLongueur.length + 1];
+        for (int l = 0; l < taillesLongueur.length; l++) {
+            cumuls[l + 1] = cumuls[l] + taillesLongueur[l];
+        }
+        cumulsAJour = true;
+    }
+
+    /**
+     * Nombre de mots de longueur strictement inférieure à une borne
+     * @param longueur la borne
+     * @return le cumul, borné aux longueurs connues
+     */
+    private int cumul(int longueur) {
+        return cumuls[Math.max(0, Math.min(longueur, cumuls.length - 1))];
+    }
+
+    /**
+     * Compte les lettres différentes d'un mot, accents repliés comme au jeu (É et E comptent une fois)
+     * @param id indice du mot
+     * @return nombre de lettres distinctes
+     */
+    private int lettresDistinctes(int id) {
+        long[] vues = new long[4];
+        int distinctes = 0;
+        for (int i = 0; i < arena.longueur(id); i++) {
+            char lettre = arena.lettreRepliee(id, i);
+            long bit = 1L << lettre;
+            if ((vues[lettre >>> 6] & bit) == 0) {
+                vues[lettre >>> 6] |= bit;
+                distinctes++;
+            }
+        }
+        return distinctes;
+    }
+
+    /**
+     * Ajoute un indice en fin de tableau en l'agrandissant si nécessaire
+     * @param tableau le tableau
+     * @param position la case à remplir
+     * @param valeur la valeur à écrire
+     * @return le tableau, éventuellement réalloué
+     */
+    private static int[] ajouterA(int[] tableau, int position, int valeur) {
+        if (position == tableau.length) {
+            tableau = Arrays.copyOf(tableau, tableau.length * 2);
+        }
+        tableau[position] = valeur;
+        return tableau;
+    }
+}
@@ -0,0 +1,60 @@
+package fr.ecn.medev.service;
+
+/**
+ * Position d'un joueur dans sa rotation de mots sans répétition
+ * Tout l'état tient dans deux longs : la graine du joueur, qui fixe l'ordre de passage des mots,
+ * et le curseur, qui compte les mots déjà tirés. Il suffit de les sauvegarder pour reprendre plus tard.
+ * Une instance n'est pas prévue pour être partagée entre plusieurs threads.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+public final class RotationJoueur {
+
+    private final long graine;
+    private long curseur;
+
+    /**
+     * Démarre une nouvelle rotation
+     * @param graine graine propre au joueur (par exemple dérivée de son identifiant)
+     */
+    public RotationJoueur(long graine) {
+        this(graine, 0);
+    }
+
+    /**
+     * Reprend une rotation sauvegardée
+     * @param graine graine propre au joueur
+     * @param curseur nombre de mots déjà tirés
+     * @throws IllegalArgumentException si le curseur est négatif
+     */
+    public RotationJoueur(long graine, long curseur) {
+        if (curseur < 0) {
+            throw new IllegalArgumentException("Le curseur ne peut pas être négatif");
+        }
+
+        this.graine = graine;
+        this.curseur = curseur;
+    }
+
+    /**
+     * @return la graine du joueur
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * @return le nombre de mots déjà tirés
+     */
+    public long getCurseur() {
+        return curseur;
+    }
+
+    /**
+     * Passe au mot suivant
+     * @return la position du mot à tirer, avant avancement
+     */
+    long avancer() {
+        return curseur++;
+    }
+}
@@ -0,0 +1,159 @@
+package fr.ecn.medev.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Roue temporelle hachée : planifier, replanifier et annuler une échéance se font en O(1)
+ * Le temps est découpé en pas ; chaque case de la roue chaîne (liste doublement chaînée
+ * intrusive) les échéances dont le pas tombe sur elle, modulo le nombre de cases. Avancer
+ * la roue ne visite que les cases des pas écoulés ; une échéance plus lointaine qu'un tour
+ * reste simplement dans sa case jusqu'au bon tour.
+ * Les échéances sont réutilisables : une session garde les siennes et les replanifie à chaque coup,
+ * sans allocation. Les méthodes sont synchronisées et ne font qu'un travail borné sous le verrou.
+ * @param <T> le sujet des échéances
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class RoueTemporelle<T> {
+
+    /**
+     * Échéance chaînée dans une case de la roue
+     * @param <T> le sujet de l'échéance
+     */
+    static final class Echeance<T> {
+        private final T sujet;
+        private long pas;
+        private Echeance<T> precedente;
+        private Echeance<T> suivante;
+        private boolean planifiee;
+
+        /**
+         * Constructeur d'une échéance non planifiée
+         * @param sujet le sujet de l'échéance
+         */
+        Echeance(T sujet) {
+            this.sujet = sujet;
+        }
+
+        /**
+         * @return le sujet de l'échéance
+         */
+        T sujet() {
+            return sujet;
+        }
+    }
+
+    private final long dureePas;
+    // Tête de la chaîne de chaque case, null si elle est vide
+    private final List<Echeance<T>> cases;
+    private final int masque;
+
+    // Dernier pas traité : toutes les échéances jusqu'à ce pas sont déjà échues
+    private long pasCourant;
+    private int nombrePlanifiees;
+
+    /**
+     * Constructeur de la roue
+     * @param dureePas la durée d'un pas en millisecondes
+     * @param nombreCases le nombre de cases (puissance de 2)
+     * @param maintenant l'instant de départ en millisecondes
+     * @throws IllegalArgumentException si la durée n'est pas positive ou si le nombre de cases n'est pas une puissance de 2
+     */
+    RoueTemporelle(long dureePas, int nombreCases, long maintenant) {
+        if (dureePas < 1 || nombreCases < 1 || Integer.bitCount(nombreCases) != 1) {
+            throw new IllegalArgumentException("Roue temporelle invalide");
+        }
+        this.dureePas = dureePas;
+        this.cases = new ArrayList<>(Collections.nCopies(nombreCases, null));
+        this.masque = nombreCases - 1;
+        this.pasCourant = Math.floorDiv(maintenant, dureePas);
+    }
+
+    /**
+     * Planifie une échéance, ou la déplace si elle l'était déjà
+     * Une échéance n'est jamais échue avant son instant ; elle l'est au plus un pas après.
+     * @param echeance l'échéance
+     * @param instant l'instant d'échéance en millisecondes
+     */
+    synchronized void planifier(Echeance<T> echeance, long instant) {
+        if (echeance.planifiee) {
+            retirer(echeance);
+        }
+        // Arrondi au pas supérieur ; une échéance déjà passée tombe au prochain pas
+        long pas = Math.max(Math.floorDiv(instant - 1, dureePas) + 1, pasCourant + 1);
+        int indice = (int) (pas & masque);
+
+        echeance.pas = pas;
+        echeance.precedente = null;
+        Echeance<T> tete = cases.get(indice);
+        echeance.suivante = tete;
+        if (tete != null) {
+            tete.precedente = echeance;
+        }
+        cases.set(indice, echeance);
+        echeance.planifiee = true;
+        nombrePlanifiees++;
+    }
+
+    /**
+     * Annule une échéance ; sans effet si elle n'est pas planifiée
+     * @param echeance l'échéance
+     */
+    synchronized void annuler(Echeance<T> echeance) {
+        if (echeance.planifiee) {
+            retirer(echeance);
+        }
+    }
+
+    /**
+     * Avance la roue jusqu'à un instant et retire les échéances échues
+     * Les échues sont rendues à l'appelant plutôt que traitées ici : il les traite hors du verrou.
+     * @param maintenant l'instant courant en millisecondes
+     * @param echues reçoit les échéances échues
+     */
+    synchronized void avancer(long maintenant, List<Echeance<T>> echues) {
+        long cible = Math.floorDiv(maintenant, dureePas);
+        if (cible <= pasCourant) {
+            return;
+        }
+
+        // Au-delà d'un tour complet, chaque case n'a besoin d'être visitée qu'une fois
+        long nombrePas = Math.min(cible - pasCourant, cases.size());
+        for (long pas = pasCourant + 1; pas <= pasCourant + nombrePas; pas++) {
+            Echeance<T> echeance = cases.get((int) (pas & masque));
+            while (echeance != null) {
+                Echeance<T> suivante = echeance.suivante;
+                if (echeance.pas <= cible) {
+                    retirer(echeance);
+                    echues.add(echeance);
+                }
+                echeance = suivante;
+            }
+        }
+        pasCourant = cible;
+    }
+
+    /**
+     * @return nombre d'échéances planifiées
+     */
+    synchronized int taille() {
+        return nombrePlanifiees;
+    }
+
+    private void retirer(Echeance<T> echeance) {
+        if (echeance.precedente != null) {
+            echeance.precedente.suivante = echeance.suivante;
+        } else {
+            cases.set((int) (echeance.pas & masque), echeance.suivante);
+        }
+        if (echeance.suivante != null) {
+            echeance.suivante.precedente = echeance.precedente;
+        }
+        echeance.precedente = null;
+        echeance.suivante = null;
+        echeance.planifiee = false;
+        nombrePlanifiees--;
+    }
+}
@@ -0,0 +1,53 @@
+package fr.ecn.medev.service;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source de hasard utilisée pour tirer les mots du dictionnaire
+ * @author Imane Laasri
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface SourceAleatoire {
+
+    /**
+     * Tire un entier uniformément dans [0, borne[
+     * @param borne borne exclusive (strictement positive)
+     * @return l'entier tiré
+     */
+    int tirer(int borne);
+
+    /**
+     * Source rapide sans contention : chaque thread utilise son propre générateur
+     * @return la source par défaut du dictionnaire
+     */
+    static SourceAleatoire parThread() {
+        return borne -> ThreadLocalRandom.current().nextInt(borne);
+    }
+
+    /**
+     * Source reproductible : la même graine redonne la même suite de tirages
+     * Les tirages sont sérialisés pour que la suite ne dépende pas des threads appelants.
+     * @param graine la graine du générateur
+     * @return une source déterministe
+     */
+    static SourceAleatoire deterministe(long graine) {
+        SplittableRandom generateur = new SplittableRandom(graine);
+        return borne -> {
+            synchronized (generateur) {
+                return generateur.nextInt(borne);
+            }
+        };
+    }
+
+    /**
+     * Source cryptographique, plus lente, pour les cas où l'équité doit être garantie
+     * @return une source basée sur SecureRandom
+     */
+    static SourceAleatoire securisee() {
+        SecureRandom generateur = new SecureRandom();
+        return generateur::nextInt;
+    }
+}
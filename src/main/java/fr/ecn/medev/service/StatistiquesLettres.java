@@ -0,0 +1,113 @@
+package fr.ecn.medev.service;
+
+import java.util.Arrays;
+
+/**
+ * Histogrammes de lettres par longueur de mot : nombre de mots contenant chaque lettre,
+ * et nombre de mots ayant chaque lettre à chaque position
+ * Les lettres sont comptées repliées, comme le joueur les propose : É et È comptent pour E.
+ * Les statistiques sont persistantes : avec() retourne de nouvelles statistiques qui ne recopient
+ * que les longueurs touchées, sans jamais reparcourir les mots déjà comptés.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class StatistiquesLettres {
+
+    // Une case par lettre repliée (sans accent), toujours dans le Latin-1
+    private static final int LETTRES = 256;
+
+    // comptes[longueur] : LETTRES cases de présence, puis LETTRES cases par position ; null si aucun mot
+    private final int[][] comptes;
+    private final int[] nombresMots;
+
+    /**
+     * Calcule les statistiques de tous les mots d'une arène
+     * @param arena l'arène (figée) des mots
+     */
+    StatistiquesLettres(ArenaMots arena) {
+        this(new int[0][], new int[0], arena, 0);
+    }
+
+    /**
+     * Construit des statistiques à partir de comptes existants en y ajoutant des mots
+     * @param comptes les comptes de départ (les longueurs modifiées sont recopiées)
+     * @param nombresMots nombre de mots par longueur au départ
+     * @param arena l'arène contenant les mots
+     * @param premierId premier mot à compter ; tous les suivants jusqu'à la taille de l'arène le sont aussi
+     */
+    private StatistiquesLettres(int[][] comptes, int[] nombresMots, ArenaMots arena, int premierId) {
+        int longueurMax = comptes.length - 1;
+        for (int id = premierId; id < arena.taille(); id++) {
+            longueurMax = Math.max(longueurMax, arena.longueur(id));
+        }
+
+        int[][] nouveaux = Arrays.copyOf(comptes, longueurMax + 1);
+        int[] nouveauxNombres = Arrays.copyOf(nombresMots, longueurMax + 1);
+        boolean[] recopies = new boolean[nouveaux.length];
+        long[] vues = new long[LETTRES / 64];
+
+        for (int id = premierId; id < arena.taille(); id++) {
+            int longueur = arena.longueur(id);
+            if (!recopies[longueur]) {
+                nouveaux[longueur] = nouveaux[longueur] == null
+                        ? new int[(longueur + 1) * LETTRES] : nouveaux[longueur].clone();
+                recopies[longueur] = true;
+            }
+
+            int[] groupe = nouveaux[longueur];
+            nouveauxNombres[longueur]++;
+            Arrays.fill(vues, 0L);
+            for (int position = 0; position < longueur; position++) {
+                char lettre = arena.lettreRepliee(id, position);
+                groupe[(position + 1) * LETTRES + lettre]++;
+                if ((vues[lettre >>> 6] & (1L << lettre)) == 0) {
+                    vues[lettre >>> 6] |= 1L << lettre;
+                    groupe[lettre]++;
+                }
+            }
+        }
+
+        this.comptes = nouveaux;
+        this.nombresMots = nouveauxNombres;
+    }
+
+    /**
+     * Retourne de nouvelles statistiques comptant en plus les mots ajoutés à l'arène
+     * Ces statistiques restent valides et inchangées pour leurs lecteurs.
+     * @param arenaFigee l'arène figée la plus récente
+     * @param premierId indice du premier mot ajouté
+     * @return les nouvelles statistiques
+     */
+    StatistiquesLettres avec(ArenaMots arenaFigee, int premierId) {
+        return new StatistiquesLettres(comptes, nombresMots, arenaFigee, premierId);
+    }
+
+    /**
+     * @param longueur la longueur de mot
+     * @return nombre de mots de cette longueur
+     */
+    int nombreMots(int longueur) {
+        return longueur < nombresMots.length ? nombresMots[longueur] : 0;
+    }
+
+    /**
+     * @param longueur la longueur de mot
+     * @param lettre la lettre repliée (voir Alphabet.replier)
+     * @return nombre de mots de cette longueur contenant la lettre au moins une fois
+     */
+    int motsContenant(int longueur, char lettre) {
+        int[] groupe = longueur < comptes.length ? comptes[longueur] : null;
+        return groupe == null ? 0 : groupe[lettre];
+    }
+
+    /**
+     * @param longueur la longueur de mot
+     * @param position la position dans le mot (inférieure à la longueur)
+     * @param lettre la lettre repliée (voir Alphabet.replier)
+     * @return nombre de mots de cette longueur ayant la lettre à cette position
+     */
+    int motsAvecLettreEn(int longueur, int position, char lettre) {
+        int[] groupe = longueur < comptes.length ? comptes[longueur] : null;
+        return groupe == null ? 0 : groupe[(position + 1) * LETTRES + lettre];
+    }
+}
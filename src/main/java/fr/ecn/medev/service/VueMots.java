@@ -0,0 +1,96 @@
+package fr.ecn.medev.service;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Liste non modifiable des mots d'une arène figée, sans copie : chaque mot est décodé à la lecture
+ * L'arène étant figée, la vue ne change pas même si le dictionnaire est modifié ou rechargé ensuite.
+ * @author Imane Laasri
+ * @version 1.0
+ */
+final class VueMots extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * Découpeur d'une plage d'indices : la coupe en deux est exacte et en O(1)
+     */
+    private static final class Decoupeur implements Spliterator<String> {
+        private final ArenaMots arena;
+        private int debut;
+        private final int fin;
+
+        private Decoupeur(ArenaMots arena, int debut, int fin) {
+            this.arena = arena;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (debut >= fin) {
+                return false;
+            }
+            action.accept(arena.mot(debut++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super String> action) {
+            int courant = debut;
+            debut = fin;
+            for (; courant < fin; courant++) {
+                action.accept(arena.mot(courant));
+            }
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            int milieu = (debut + fin) >>> 1;
+            if (milieu <= debut) {
+                return null;
+            }
+            Spliterator<String> gauche = new Decoupeur(arena, debut, milieu);
+            debut = milieu;
+            return gauche;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - debut;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT;
+        }
+    }
+
+    private final ArenaMots arena;
+
+    /**
+     * Constructeur de la vue
+     * @param arena l'arène figée
+     */
+    VueMots(ArenaMots arena) {
+        this.arena = arena;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, arena.taille());
+        return arena.mot(index);
+    }
+
+    @Override
+    public int size() {
+        return arena.taille();
+    }
+
+    @Override
+    public Spliterator<String> spliterator() {
+        return new Decoupeur(arena, 0, arena.taille());
+    }
+}
@@ -1,5 +1,6 @@
 package fr.ecn.medev.ui;
 
+import fr.ecn.medev.model.Alphabet;
 import fr.ecn.medev.model.EtatPartie;
 import fr.ecn.medev.model.PartieJeu;
 import fr.ecn.medev.service.GestionnairePartie;
@@ -88,7 +89,7 @@ public class InterfaceTexte {
      */
     private void jouerModeDeuxJoueurs() {
         System.out.print("\nJoueur 1, entrez le mot secret : ");
-        String mot = scanner.nextLine().trim().toUpperCase();
+        String mot = Alphabet.versMajuscules(scanner.nextLine().trim());
 
         if (mot.isEmpty()) {
             System.out.println("\nLe mot ne peut pas être vide.");
@@ -191,7 +192,7 @@ public class InterfaceTexte {
         System.out.println("\nMot : " + partie.getMotAffiche());
         System.out.println("Erreurs : " + partie.getNombreErreurs() + "/" + partie.getErreursMaximales());
 
-        afficherLettresProposees(partie.getLettresProposees());
+        afficherLettresProposees(partie.getInstantane().getLettresProposees());
     }
 
     /**
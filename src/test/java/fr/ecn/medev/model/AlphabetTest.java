@@ -0,0 +1,52 @@
+package fr.ecn.medev.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour Alphabet
+ * @author Oussama Kazoubi
+ */
+class AlphabetTest {
+
+    @Test
+    @DisplayName("Majuscules Latin-1 avec accents conservés")
+    void testMajuscule() {
+        assertEquals('A', Alphabet.majuscule('a'));
+        assertEquals('Z', Alphabet.majuscule('Z'));
+        assertEquals('É', Alphabet.majuscule('é'));
+        assertEquals('Ç', Alphabet.majuscule('ç'));
+        assertEquals(Alphabet.NON_LETTRE, Alphabet.majuscule('1'));
+        assertEquals(Alphabet.NON_LETTRE, Alphabet.majuscule('-'));
+        assertEquals(Alphabet.NON_LETTRE, Alphabet.majuscule('ÿ'));
+        assertEquals(Alphabet.NON_LETTRE, Alphabet.majuscule('Ω'));
+    }
+
+    @Test
+    @DisplayName("Repli des lettres accentuées sur leur lettre de base")
+    void testReplier() {
+        for (char c : "eéèêëEÉÈÊË".toCharArray()) {
+            assertEquals('E', Alphabet.replier(c));
+        }
+        assertEquals('C', Alphabet.replier('ç'));
+        assertEquals('A', Alphabet.replier('à'));
+        assertEquals('I', Alphabet.replier('Ï'));
+        assertEquals('O', Alphabet.replier('ô'));
+        assertEquals('U', Alphabet.replier('ù'));
+        assertEquals('Y', Alphabet.replier('ÿ'));
+        assertEquals('Æ', Alphabet.replier('æ'));
+        assertEquals('Ω', Alphabet.replier('ω'));
+        assertEquals(Alphabet.NON_LETTRE, Alphabet.replier('?'));
+    }
+
+    @Test
+    @DisplayName("Normalisation d'un mot entier")
+    void testMajuscules() {
+        assertEquals("ÉLÈVE", Alphabet.majuscules("élève"));
+        assertNull(Alphabet.majuscules("porte-monnaie"));
+        assertNull(Alphabet.majuscules(""));
+        assertEquals("PORTE-MONNAIE", Alphabet.versMajuscules("porte-monnaie"));
+    }
+}
@@ -0,0 +1,159 @@
+package fr.ecn.medev.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CodecPartie
+ * @author Oussama Kazoubi
+ */
+class CodecPartieTest {
+
+    private static InstantanePartie partieEnCours() {
+        return new InstantanePartie("ALGORITHME", 6)
+                .proposerLettre('A').proposerLettre('Z').proposerLettre('E');
+    }
+
+    private static void assertMemeEtat(InstantanePartie attendu, InstantanePartie obtenu) {
+        assertEquals(attendu.getMotSecret(), obtenu.getMotSecret());
+        assertEquals(attendu.getMotAffiche(), obtenu.getMotAffiche());
+        assertEquals(attendu.getLettresProposees(), obtenu.getLettresProposees());
+        assertEquals(attendu.getNombreErreurs(), obtenu.getNombreErreurs());
+        assertEquals(attendu.getErreursMaximales(), obtenu.getErreursMaximales());
+        assertEquals(attendu.getLettresRestantes(), obtenu.getLettresRestantes());
+        assertEquals(attendu.getEtat(), obtenu.getEtat());
+    }
+
+    @Test
+    @DisplayName("Aller-retour d'une partie en cours")
+    void testAllerRetour() {
+        InstantanePartie partie = partieEnCours();
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+
+        int ecrits = CodecPartie.encoder(partie, tampon);
+        assertEquals(8 + "ALGORITHME".length(), ecrits);
+        assertEquals(CodecPartie.taille(partie), ecrits);
+
+        tampon.flip();
+        assertMemeEtat(partie, CodecPartie.decoder(tampon));
+        assertFalse(tampon.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Aller-retour avec le mot en clair, accents et lettres hors A-Z")
+    void testAllerRetourMotEnClair() {
+        InstantanePartie partie = new InstantanePartie("ÆTHÉRÉ", 4)
+                .proposerLettre('æ').proposerLettre('e').proposerLettre('Ø');
+        ByteBuffer tampon = ByteBuffer.allocate(64).order(ByteOrder.BIG_ENDIAN);
+
+        int ecrits = CodecPartie.encoder(partie, tampon);
+        assertEquals(CodecPartie.taille(partie), ecrits);
+        assertEquals(8 + 6 + 2 * 2, ecrits);
+
+        tampon.flip();
+        InstantanePartie relue = CodecPartie.decoder(tampon);
+        assertMemeEtat(partie, relue);
+        assertEquals("Æ _ _ É _ É", relue.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Parties terminées")
+    void testPartiesTerminees() {
+        InstantanePartie gagnee = new InstantanePartie("AIR", 3)
+                .proposerLettre('A').proposerLettre('I').proposerLettre('R');
+        InstantanePartie perdue = new InstantanePartie("AIR", 1).proposerLettre('X');
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+
+        CodecPartie.encoder(gagnee, tampon);
+        CodecPartie.encoder(perdue, tampon);
+        tampon.flip();
+
+        assertEquals(EtatPartie.GAGNEE, CodecPartie.decoder(tampon).getEtat());
+        assertEquals(EtatPartie.PERDUE, CodecPartie.decoder(tampon).getEtat());
+    }
+
+    @Test
+    @DisplayName("Encodage tronqué ou incohérent")
+    void testEncodageInvalide() {
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+        int ecrits = CodecPartie.encoder(partieEnCours(), tampon);
+        tampon.flip();
+
+        ByteBuffer tronque = tampon.duplicate().limit(ecrits - 1);
+        assertThrows(IllegalArgumentException.class, () -> CodecPartie.decoder(tronque));
+
+        // Le mot ne correspond pas aux erreurs enregistrées : Z compté présent au lieu d'absent
+        byte[] incoherent = Arrays.copyOf(tampon.array(), ecrits);
+        incoherent[1] = 0;
+        assertThrows(IllegalArgumentException.class, () -> CodecPartie.decoder(ByteBuffer.wrap(incoherent)));
+    }
+
+    @Test
+    @DisplayName("Un état désignant le mot par un indice de dictionnaire est refusé")
+    void testAncienEncodageParIdentifiant() {
+        // En-tête sans le bit du mot en clair, suivi d'un indice sur 4 octets : il désignerait un autre
+        // mot après un rechargement du dictionnaire
+        ByteBuffer ancien = ByteBuffer.wrap(new byte[] {0, 0, 6, 1, 0, 0, 0, 42, 0, 0, 0});
+
+        assertThrows(IllegalArgumentException.class, () -> CodecPartie.decoder(ancien));
+    }
+
+    @Test
+    @DisplayName("Propositions hors A-Z invalides refusées")
+    void testAutresPropositionsInvalides() {
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+        int ecrits = CodecPartie.encoder(new InstantanePartie("ÆØON", 6).proposerLettre('æ').proposerLettre('ø'), tampon);
+        byte[] valide = Arrays.copyOf(tampon.array(), ecrits);
+
+        // Les deux dernières propositions occupent les 4 derniers octets
+        for (char invalide : new char[] {'O', '1', 'é', 'Æ'}) {
+            byte[] octets = valide.clone();
+            octets[ecrits - 2] = (byte) invalide;
+            octets[ecrits - 1] = (byte) (invalide >>> 8);
+            assertThrows(IllegalArgumentException.class,
+                    () -> CodecPartie.decoder(ByteBuffer.wrap(octets)), "proposition " + invalide);
+        }
+        assertEquals("Æ Ø _ _", CodecPartie.decoder(ByteBuffer.wrap(valide)).getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Mot hors Latin-1 refusé")
+    void testMotHorsLatin1() {
+        InstantanePartie partie = new InstantanePartie("ΩMEGA", 3);
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+
+        assertThrows(IllegalArgumentException.class, () -> CodecPartie.encoder(partie, tampon));
+        assertEquals(0, tampon.position());
+    }
+
+    @Test
+    @DisplayName("Reprise d'une PartieJeu depuis un état décodé")
+    void testReprisePartieJeu() {
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+        CodecPartie.encoder(partieEnCours(), tampon);
+        tampon.flip();
+
+        PartieJeu partie = new PartieJeu(CodecPartie.decoder(tampon));
+        assertEquals("A _ _ _ _ _ _ _ _ E", partie.getMotAffiche());
+        assertEquals(1, partie.getNombreErreurs());
+        assertTrue(partie.proposerLettre('L'));
+        assertEquals("A L _ _ _ _ _ _ _ E", partie.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Aller-retour d'une partie abandonnée")
+    void testPartieAbandonnee() {
+        InstantanePartie abandonnee = partieEnCours().abandonner();
+        ByteBuffer tampon = ByteBuffer.allocate(64);
+        CodecPartie.encoder(abandonnee, tampon);
+        tampon.flip();
+
+        assertMemeEtat(abandonnee, CodecPartie.decoder(tampon));
+    }
+}
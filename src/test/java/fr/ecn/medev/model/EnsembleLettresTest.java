@@ -0,0 +1,60 @@
+package fr.ecn.medev.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour EnsembleLettres
+ * @author Oussama Kazoubi
+ */
+class EnsembleLettresTest {
+
+    @Test
+    @DisplayName("Présence des lettres A-Z et hors A-Z")
+    void testContient() {
+        int masque = (1 << ('A' - 'A')) | (1 << ('Z' - 'A'));
+        char[] autres = {'Æ', 'Ω'};
+
+        assertTrue(EnsembleLettres.contient(masque, autres, 'A'));
+        assertTrue(EnsembleLettres.contient(masque, autres, 'Z'));
+        assertTrue(EnsembleLettres.contient(masque, autres, 'Æ'));
+        assertTrue(EnsembleLettres.contient(masque, autres, 'Ω'));
+        assertFalse(EnsembleLettres.contient(masque, autres, 'B'));
+        assertFalse(EnsembleLettres.contient(masque, autres, 'Ø'));
+        assertFalse(EnsembleLettres.contient(masque, autres, Alphabet.NON_LETTRE));
+        assertEquals(1, EnsembleLettres.indexAutre(autres, 'Ω'));
+        assertEquals(-1, EnsembleLettres.indexAutre(autres, 'A'));
+    }
+
+    @Test
+    @DisplayName("Ajouter une lettre hors A-Z laisse le tableau d'origine inchangé")
+    void testAvecAutre() {
+        char[] autres = EnsembleLettres.AUCUNE_LETTRE;
+        for (char c = 'α'; c <= 'ω'; c++) {
+            autres = EnsembleLettres.avecAutre(autres, c);
+        }
+        char[] plus = EnsembleLettres.avecAutre(autres, 'Ø');
+
+        assertEquals('ω' - 'α' + 1, autres.length);
+        assertEquals(0, EnsembleLettres.AUCUNE_LETTRE.length);
+        assertTrue(EnsembleLettres.contient(0, autres, 'ω'));
+        assertFalse(EnsembleLettres.contient(0, autres, 'Ø'));
+        assertTrue(EnsembleLettres.contient(0, plus, 'Ø'));
+    }
+
+    @Test
+    @DisplayName("Vue ordonnée et non modifiable")
+    void testEnEnsemble() {
+        int masque = (1 << ('J' - 'A')) | (1 << ('A' - 'A'));
+
+        Set<Character> vue = EnsembleLettres.enEnsemble(masque, new char[] {'Ø'});
+        assertEquals(List.of('A', 'J', 'Ø'), List.copyOf(vue));
+        assertThrows(UnsupportedOperationException.class, () -> vue.add('B'));
+        assertTrue(EnsembleLettres.enEnsemble(0, EnsembleLettres.AUCUNE_LETTRE).isEmpty());
+    }
+}
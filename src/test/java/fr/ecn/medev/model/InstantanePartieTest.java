@@ -0,0 +1,217 @@
+package fr.ecn.medev.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour InstantanePartie
+ * @author Oussama Kazoubi
+ */
+class InstantanePartieTest {
+
+    @Test
+    @DisplayName("Instantané initial")
+    void testInstantaneInitial() {
+        InstantanePartie debut = new InstantanePartie("java", 6);
+
+        assertTrue(debut.estInitial());
+        assertEquals("JAVA", debut.getMotSecret());
+        assertEquals("_ _ _ _", debut.getMotAffiche());
+        assertEquals(0, debut.getNombreErreurs());
+        assertEquals(6, debut.getErreursRestantes());
+        assertEquals(3, debut.getLettresRestantes());
+        assertEquals(EtatPartie.EN_COURS, debut.getEtat());
+        assertTrue(debut.getLettresProposees().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Proposer une lettre laisse l'instantané d'origine inchangé")
+    void testProposerNeModifiePasLOriginal() {
+        InstantanePartie debut = new InstantanePartie("JAVA", 6);
+        InstantanePartie apresA = debut.proposerLettre('a');
+        InstantanePartie apresZ = apresA.proposerLettre('Z');
+
+        assertEquals("_ _ _ _", debut.getMotAffiche());
+        assertEquals("_ A _ A", apresA.getMotAffiche());
+        assertEquals(0, apresA.getNombreErreurs());
+        assertEquals(1, apresZ.getNombreErreurs());
+        assertEquals(Set.of('A'), apresA.getLettresProposees());
+        assertEquals(Set.of('A', 'Z'), apresZ.getLettresProposees());
+        assertEquals((1 << 0) | (1 << 25), apresZ.getMasquePropositions());
+        assertTrue(apresA.estLettreRevelee('A'));
+        assertFalse(apresZ.estLettreRevelee('Z'));
+        assertTrue(apresZ.estLettreDejaProposee('z'));
+    }
+
+    @Test
+    @DisplayName("Une lettre déjà proposée retourne le même instantané")
+    void testLettreDejaProposee() {
+        InstantanePartie apresE = new InstantanePartie("ÉTÉ", 6).proposerLettre('E');
+
+        assertSame(apresE, apresE.proposerLettre('é'));
+        assertEquals("É _ É", apresE.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Annuler remonte à l'instantané précédent")
+    void testAnnuler() {
+        InstantanePartie debut = new InstantanePartie("JAVA", 6);
+        InstantanePartie apresJ = debut.proposerLettre('J');
+        InstantanePartie apresX = apresJ.proposerLettre('X');
+
+        assertSame(apresJ, apresX.annuler());
+        assertSame(debut, apresX.annuler().annuler());
+        assertThrows(IllegalStateException.class, debut::annuler);
+
+        // Une autre branche depuis le même passé
+        InstantanePartie apresV = apresX.annuler().proposerLettre('V');
+        assertEquals("J _ V _", apresV.getMotAffiche());
+        assertEquals(1, apresX.getNombreErreurs());
+        assertEquals(0, apresV.getNombreErreurs());
+    }
+
+    @Test
+    @DisplayName("Victoire et défaite")
+    void testFinDePartie() {
+        InstantanePartie gagnee = new InstantanePartie("AIR", 2)
+                .proposerLettre('A').proposerLettre('I').proposerLettre('R');
+        assertEquals(EtatPartie.GAGNEE, gagnee.getEtat());
+        assertThrows(IllegalStateException.class, () -> gagnee.proposerLettre('B'));
+
+        InstantanePartie perdue = new InstantanePartie("AIR", 2)
+                .proposerLettre('X').proposerLettre('Y');
+        assertEquals(EtatPartie.PERDUE, perdue.getEtat());
+        assertEquals(0, perdue.getErreursRestantes());
+    }
+
+    @Test
+    @DisplayName("Lettres hors A-Z dans les propositions")
+    void testLettresHorsLatin() {
+        InstantanePartie partie = new InstantanePartie("ÆON", 3).proposerLettre('æ');
+
+        assertEquals("Æ _ _", partie.getMotAffiche());
+        assertEquals(0, partie.getMasquePropositions());
+        assertEquals(List.of('Æ'), List.copyOf(partie.getLettresProposees()));
+        assertEquals(2, partie.getLettresRestantes());
+    }
+
+    @Test
+    @DisplayName("Paramètres invalides")
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new InstantanePartie("JAVA", 0));
+        assertThrows(IllegalArgumentException.class, () -> new InstantanePartie("", 3));
+        assertThrows(IllegalArgumentException.class, () -> new InstantanePartie("JAVA", 3).proposerLettre('1'));
+    }
+
+    @Test
+    @DisplayName("PartieJeu expose son instantané courant")
+    void testInstantaneDePartieJeu() {
+        PartieJeu partie = new PartieJeu("JAVA", 6);
+        InstantanePartie avant = partie.getInstantane();
+
+        partie.proposerLettre('A');
+        InstantanePartie apres = partie.getInstantane();
+
+        assertNotSame(avant, apres);
+        assertEquals("_ _ _ _", avant.getMotAffiche());
+        assertEquals(partie.getMotAffiche(), apres.getMotAffiche());
+        assertSame(avant, apres.annuler());
+    }
+
+    @Test
+    @DisplayName("Une suite de lettres ne crée qu'un instantané")
+    void testProposerLettres() {
+        InstantanePartie debut = new InstantanePartie("JAVA", 6);
+
+        ResultatPropositions resultat = debut.proposerLettres("JAVA");
+
+        assertEquals(EtatPartie.GAGNEE, resultat.getInstantane().getEtat());
+        assertSame(debut, resultat.getInstantane().annuler());
+        assertEquals("_ _ _ _", debut.getMotAffiche());
+
+        // Que des lettres déjà proposées : aucun nouvel instantané
+        InstantanePartie apresJ = debut.proposerLettre('J');
+        assertSame(apresJ, apresJ.proposerLettres("jJ").getInstantane());
+    }
+
+    @Test
+    @DisplayName("Abandonner une partie en cours")
+    void testAbandonner() {
+        InstantanePartie apresA = new InstantanePartie("JAVA", 6).proposerLettre('A');
+        InstantanePartie abandonnee = apresA.abandonner();
+
+        assertEquals(EtatPartie.PERDUE, abandonnee.getEtat());
+        assertEquals(0, abandonnee.getNombreErreurs());
+        assertEquals("_ A _ A", abandonnee.getMotAffiche());
+        assertEquals(EtatPartie.EN_COURS, apresA.getEtat());
+        assertThrows(IllegalStateException.class, abandonnee::abandonner);
+        assertThrows(IllegalStateException.class, () -> abandonnee.proposerLettre('J'));
+    }
+
+    @Test
+    @DisplayName("L'affichage se déduit de celui de l'instantané précédent")
+    void testAffichageIncremental() {
+        InstantanePartie debut = new InstantanePartie("ANANAS", 6);
+        InstantanePartie apresZ = debut.proposerLettre('Z');
+        InstantanePartie apresA = apresZ.proposerLettre('A');
+        InstantanePartie apresNS = apresA.proposerLettres("ns").getInstantane();
+
+        // L'affichage le plus récent est demandé en premier : ceux d'avant sont calculés au passage
+        assertEquals("A N A N A S", apresNS.getMotAffiche());
+        assertEquals("A _ A _ A _", apresA.getMotAffiche());
+        assertSame(apresA.getMotAffiche(), apresA.getMotAffiche());
+        assertEquals("_ _ _ _ _ _", apresZ.getMotAffiche());
+
+        InstantanePartie abandonnee = apresA.abandonner();
+        assertSame(apresA.getMotAffiche(), abandonnee.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Affichage des lettres hors A-Z, des non-lettres et d'un mot d'une lettre")
+    void testAffichageLettresEtendues() {
+        InstantanePartie coeur = new InstantanePartie("cœur-Ø", 6).proposerLettre('Œ').proposerLettre('ø');
+        assertEquals("_ Œ _ _ _ Ø", coeur.getMotAffiche());
+
+        InstantanePartie compose = new InstantanePartie("A-B", 6).proposerLettres("AB").getInstantane();
+        assertEquals("A _ B", compose.getMotAffiche());
+        assertEquals(0, compose.getLettresRestantes());
+        assertEquals(EtatPartie.EN_COURS, compose.getEtat());
+
+        InstantanePartie court = new InstantanePartie("à", 6).proposerLettre('a');
+        assertEquals("À", court.getMotAffiche());
+        assertEquals(EtatPartie.GAGNEE, court.getEtat());
+    }
+
+    @Test
+    @DisplayName("Un instantané sans historique construit son affichage depuis le mot masqué")
+    void testAffichageSansHistorique() {
+        InstantanePartie joue = new InstantanePartie("ÉLÈVE", 6).proposerLettre('v').proposerLettre('E');
+        InstantanePartie reconstruit = new InstantanePartie(joue.motPartage(), joue.getMasquePropositions(),
+                joue.autresPropositions(), 6);
+
+        assertTrue(reconstruit.estInitial());
+        assertEquals("É _ È V E", reconstruit.getMotAffiche());
+        assertEquals(joue.getMotAffiche(), reconstruit.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Détacher un instantané de son historique conserve son état")
+    void testSansHistorique() {
+        InstantanePartie debut = new InstantanePartie("JAVA", 6);
+        InstantanePartie joue = debut.proposerLettre('A').proposerLettre('Z');
+        InstantanePartie detache = joue.sansHistorique();
+
+        assertSame(debut, debut.sansHistorique());
+        assertTrue(detache.estInitial());
+        assertThrows(IllegalStateException.class, detache::annuler);
+        assertEquals(joue.getMotAffiche(), detache.getMotAffiche());
+        assertEquals(joue.getLettresProposees(), detache.getLettresProposees());
+        assertEquals(1, detache.getNombreErreurs());
+        assertEquals(EtatPartie.GAGNEE, detache.proposerLettre('J').proposerLettre('V').getEtat());
+    }
+}
@@ -3,6 +3,9 @@ package fr.ecn.medev.model;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -130,6 +133,18 @@ class PartieJeuTest {
         assertTrue(partie.getLettresProposees().contains('A'));
     }
 
+    @Test
+    @DisplayName("Les lettres proposées sont une copie modifiable")
+    void testLettresProposeesCopie() {
+        partie.proposerLettre('J');
+
+        Set<Character> copie = partie.getLettresProposees();
+        copie.add('X');
+
+        assertEquals(Set.of('J'), partie.getLettresProposees());
+        assertFalse(partie.estLettreDejaProposee('X'));
+    }
+
     @Test
     @DisplayName("Affichage du mot évolue correctement")
     void testMotAfficheEvolution() {
@@ -144,4 +159,78 @@ class PartieJeuTest {
         partie.proposerLettre('V');
         assertEquals("J A V A", partie.getMotAffiche());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Les lettres accentuées se devinent avec ou sans accent")
+    void testLettresAccentuees() {
+        PartieJeu partieAccents = new PartieJeu("GARÇON", 6);
+
+        assertTrue(partieAccents.proposerLettre('c'));
+        assertEquals("_ _ _ Ç _ _", partieAccents.getMotAffiche());
+
+        // 'ç' est la même lettre que 'C' : déjà proposée, pas d'erreur
+        assertFalse(partieAccents.proposerLettre('ç'));
+        assertTrue(partieAccents.estLettreDejaProposee('Ç'));
+        assertEquals(0, partieAccents.getNombreErreurs());
+        assertEquals(Set.of('C'), partieAccents.getLettresProposees());
+
+        assertThrows(IllegalArgumentException.class, () -> partieAccents.proposerLettre('-'));
+    }
+
+    @Test
+    @DisplayName("Proposer une suite de lettres en une passe")
+    void testProposerLettres() {
+        PartieJeu partieSuite = new PartieJeu("JAVA", 6);
+
+        ResultatPropositions resultat = partieSuite.proposerLettres("aXaVé");
+
+        assertEquals(5, resultat.getNombreTraitees());
+        assertTrue(resultat.estTouchee(0));
+        assertFalse(resultat.estTouchee(1));
+        assertFalse(resultat.estTouchee(2));
+        assertTrue(resultat.estTouchee(3));
+        assertFalse(resultat.estTouchee(4));
+        assertEquals(2, resultat.getNombreTouchees());
+        assertEquals("_ A V A", partieSuite.getMotAffiche());
+        assertEquals(2, partieSuite.getNombreErreurs());
+        assertSame(resultat.getInstantane(), partieSuite.getInstantane());
+    }
+
+    @Test
+    @DisplayName("Une suite de lettres s'arrête à la fin de la partie")
+    void testProposerLettresJusquALaFin() {
+        PartieJeu partieSuite = new PartieJeu("AIR", 2);
+
+        ResultatPropositions resultat = partieSuite.proposerLettres("AIRXYZ");
+
+        assertEquals(3, resultat.getNombreTraitees());
+        assertEquals(EtatPartie.GAGNEE, partieSuite.getEtat());
+        assertThrows(IndexOutOfBoundsException.class, () -> resultat.estTouchee(3));
+        assertThrows(IllegalStateException.class, () -> partieSuite.proposerLettres("B"));
+    }
+
+    @Test
+    @DisplayName("Une suite contenant un caractère invalide n'applique aucune lettre")
+    void testProposerLettresInvalides() {
+        PartieJeu partieSuite = new PartieJeu("JAVA", 6);
+
+        assertThrows(IllegalArgumentException.class, () -> partieSuite.proposerLettres("JA-"));
+        assertTrue(partieSuite.getLettresProposees().isEmpty());
+        assertEquals("_ _ _ _", partieSuite.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Une longue suite de lettres")
+    void testProposerLongueSuite() {
+        PartieJeu partieSuite = new PartieJeu("ABCDEFGHIJKLMNOPQRSTUVWXYZ", 1);
+
+        ResultatPropositions resultat = partieSuite.proposerLettres("A".repeat(100) + "ZYXWVUTSRQPONMLKJIHGFEDCB");
+
+        assertEquals(125, resultat.getNombreTraitees());
+        assertTrue(resultat.estTouchee(0));
+        assertFalse(resultat.estTouchee(64));
+        assertTrue(resultat.estTouchee(100));
+        assertEquals(26, resultat.getNombreTouchees());
+        assertEquals(EtatPartie.GAGNEE, partieSuite.getEtat());
+    }
+}
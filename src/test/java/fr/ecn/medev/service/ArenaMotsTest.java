@@ -0,0 +1,132 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ArenaMots
+ * @author Imane Laasri
+ */
+class ArenaMotsTest {
+
+    private ArenaMots arena;
+
+    @BeforeEach
+    void setUp() {
+        arena = new ArenaMots();
+    }
+
+    @Test
+    @DisplayName("Ajouter puis relire des mots")
+    void testAjouterEtRelire() {
+        assertEquals(0, arena.ajouter("JAVA"));
+        assertEquals(1, arena.ajouter("ÉLÈVE"));
+
+        assertEquals(2, arena.taille());
+        assertEquals("JAVA", arena.mot(0));
+        assertEquals("ÉLÈVE", arena.mot(1));
+        assertEquals(5, arena.longueur(1));
+        assertEquals('É', arena.lettre(1, 0));
+    }
+
+    @Test
+    @DisplayName("L'arène s'agrandit au-delà de sa capacité initiale")
+    void testCroissance() {
+        for (int i = 0; i < 600; i++) {
+            arena.ajouter("MOT" + (char) ('A' + i / 26) + (char) ('A' + i % 26));
+        }
+
+        assertEquals(600, arena.taille());
+        assertEquals("MOTAZ", arena.mot(25));
+        assertEquals("MOTXB", arena.mot(599));
+    }
+
+    @Test
+    @DisplayName("Rechercher un mot présent et absent")
+    void testIndexDe() {
+        arena.ajouter("JAVA");
+        arena.ajouter("RUBY");
+
+        byte[] ruby = "RUBY".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] rust = "RUST".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals(1, arena.indexDe(ruby, ruby.length));
+        assertEquals(-1, arena.indexDe(rust, rust.length));
+        assertEquals(-1, arena.indexDe(ruby, 3));
+    }
+
+    @Test
+    @DisplayName("Recopier une autre arène à la suite")
+    void testAjouterTout() {
+        ArenaMots autre = new ArenaMots();
+        autre.ajouter("PYTHON");
+        autre.ajouter("RUBY");
+        arena.ajouter("JAVA");
+
+        arena.ajouterTout(autre);
+
+        assertEquals(3, arena.taille());
+        assertEquals("JAVA", arena.mot(0));
+        assertEquals("PYTHON", arena.mot(1));
+        assertEquals("RUBY", arena.mot(2));
+    }
+
+    @Test
+    @DisplayName("Recopier une arène avec des hachages précalculés")
+    void testAjouterToutHachagesPrecalcules() {
+        ArenaMots autre = new ArenaMots();
+        autre.ajouter("PYTHON");
+        autre.ajouter("RUBY");
+        arena.ajouter("RUBY");
+
+        assertEquals(1, arena.ajouterTout(autre, autre.hachages()));
+
+        byte[] python = "PYTHON".getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals(1, arena.indexDe(python, python.length));
+        assertEquals(autre.masque(0), arena.masque(1));
+        assertThrows(IllegalArgumentException.class, () -> arena.ajouterTout(autre, new int[1]));
+    }
+
+    @Test
+    @DisplayName("Vider l'arène")
+    void testVider() {
+        arena.ajouter("JAVA");
+        arena.vider();
+
+        assertEquals(0, arena.taille());
+        assertEquals(0, arena.ajouter("RUBY"));
+        assertEquals("RUBY", arena.mot(0));
+    }
+
+    @Test
+    @DisplayName("Un mot déjà présent n'est pas ajouté une seconde fois")
+    void testDoublonIgnore() {
+        assertEquals(0, arena.ajouter("JAVA"));
+        assertEquals(-1, arena.ajouter("JAVA"));
+
+        ArenaMots autre = new ArenaMots();
+        autre.ajouter("JAVA");
+        autre.ajouter("RUBY");
+
+        assertEquals(1, arena.ajouterTout(autre));
+        assertEquals(2, arena.taille());
+    }
+
+    @Test
+    @DisplayName("L'index reste cohérent après de nombreux redimensionnements")
+    void testIndexApresRedimensionnement() {
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, arena.ajouter("MOT" + i));
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            byte[] mot = ("MOT" + i).getBytes(StandardCharsets.ISO_8859_1);
+            assertEquals(i, arena.indexDe(mot, mot.length));
+        }
+    }
+}
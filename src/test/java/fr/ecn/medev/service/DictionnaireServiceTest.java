@@ -1,5 +1,6 @@
 package fr.ecn.medev.service;
 
+import fr.ecn.medev.model.Difficulte;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -7,8 +8,25 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -210,4 +228,539 @@ class DictionnaireServiceTest {
         assertTrue(dictionnaire.getMots().contains("NOUVEAU"));
         assertFalse(dictionnaire.getMots().contains("ANCIEN"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Charger depuis fichier mappé valide et normalise les mots")
+    void testChargerDepuisFichierMappe() throws IOException {
+        File fichier = dossierTemp.resolve("test.txt").toFile();
+
+        try (FileWriter writer = new FileWriter(fichier, StandardCharsets.UTF_8)) {
+            writer.write("java\r\n");
+            writer.write("  PYTHON  \n");
+            writer.write("\n");
+            writer.write("TEST123\n");
+            writer.write("élève\n");
+            writer.write("RUBY");
+        }
+
+        dictionnaire.chargerDepuisFichierMappe(fichier.getAbsolutePath());
+
+        assertEquals(4, dictionnaire.getNombreMots());
+        assertTrue(dictionnaire.getMots().contains("JAVA"));
+        assertTrue(dictionnaire.getMots().contains("PYTHON"));
+        assertTrue(dictionnaire.getMots().contains("ÉLÈVE"));
+        assertTrue(dictionnaire.getMots().contains("RUBY"));
+    }
+
+    @Test
+    @DisplayName("Charger depuis fichier mappé vide ou inexistant doit lever exception")
+    void testChargerDepuisFichierMappeInvalide() throws IOException {
+        File fichier = dossierTemp.resolve("vide.txt").toFile();
+        fichier.createNewFile();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dictionnaire.chargerDepuisFichierMappe(fichier.getAbsolutePath()));
+        assertThrows(IOException.class,
+                () -> dictionnaire.chargerDepuisFichierMappe("fichier_inexistant.txt"));
+    }
+
+    @Test
+    @DisplayName("Chargement parallèle conserve l'ordre du fichier")
+    void testChargerDepuisFichierParallele() throws IOException {
+        File fichier = dossierTemp.resolve("gros.txt").toFile();
+
+        // Assez de lignes pour produire plusieurs morceaux
+        try (FileWriter writer = new FileWriter(fichier)) {
+            for (int i = 0; i < 50_000; i++) {
+                writer.write(i % 10 == 0 ? "INVALIDE" + i + "\n" : "mot" + lettres(i) + "\n");
+            }
+        }
+
+        DictionnaireService sequentiel = new DictionnaireService();
+        sequentiel.chargerDepuisFichier(fichier.getAbsolutePath());
+        dictionnaire.chargerDepuisFichierParallele(fichier.getAbsolutePath(), 4);
+
+        assertEquals(45_000, dictionnaire.getNombreMots());
+        assertEquals(sequentiel.getMots(), dictionnaire.getMots());
+    }
+
+    @Test
+    @DisplayName("Chargement parallèle avec parallélisme invalide doit lever exception")
+    void testChargerDepuisFichierParalleleInvalide() {
+        assertThrows(IllegalArgumentException.class,
+                () -> dictionnaire.chargerDepuisFichierParallele("dictionnaire.txt", 0));
+    }
+
+    /**
+     * Transforme un entier en suffixe alphabétique (0 -> A, 26 -> BA...)
+     */
+    private static String lettres(int n) {
+        StringBuilder suffixe = new StringBuilder();
+        do {
+            suffixe.append((char) ('A' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return suffixe.toString();
+    }
+
+    @Test
+    @DisplayName("Ajouter une collection de mots ignore doublons et mots invalides")
+    void testAjouterMotsCollection() {
+        dictionnaire.ajouterMot("JAVA");
+
+        int ajoutes = dictionnaire.ajouterMots(List.of("java", "RUBY", "ruby", "TEST123", " PYTHON "));
+
+        assertEquals(2, ajoutes);
+        assertEquals(List.of("JAVA", "RUBY", "PYTHON"), dictionnaire.getMots());
+    }
+
+    @Test
+    @DisplayName("Ajouter un flux de mots")
+    void testAjouterMotsFlux() {
+        assertEquals(2, dictionnaire.ajouterMots(Stream.of("JAVA", "RUBY", "JAVA")));
+        assertEquals(2, dictionnaire.getNombreMots());
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.ajouterMots((Stream<String>) null));
+    }
+
+    @Test
+    @DisplayName("Charger depuis fichier ignore les doublons")
+    void testChargerIgnoreDoublons() throws IOException {
+        File fichier = dossierTemp.resolve("test.txt").toFile();
+
+        try (FileWriter writer = new FileWriter(fichier)) {
+            writer.write("JAVA\nPYTHON\njava\nJAVA\n");
+        }
+
+        dictionnaire.chargerDepuisFichier(fichier.getAbsolutePath());
+        assertEquals(2, dictionnaire.getNombreMots());
+
+        dictionnaire.chargerDepuisFichierMappe(fichier.getAbsolutePath());
+        assertEquals(2, dictionnaire.getNombreMots());
+
+        dictionnaire.chargerDepuisFichierParallele(fichier.getAbsolutePath(), 2);
+        assertEquals(2, dictionnaire.getNombreMots());
+    }
+
+    @Test
+    @DisplayName("Rechercher les mots compatibles avec un masque")
+    void testRechercherMotif() {
+        dictionnaire.ajouterMots(List.of("ARBRE", "ANGES", "AIGLE", "JAVA"));
+
+        assertEquals(List.of("ANGES", "AIGLE"), dictionnaire.rechercherMotif("A _ G _ _", null));
+        assertEquals(List.of("AIGLE"), dictionnaire.rechercherMotif("a _ g _ _", Set.of('s')));
+
+        dictionnaire.ajouterMot("ANGLE");
+        assertEquals(List.of("AIGLE", "ANGLE"), dictionnaire.rechercherMotif("A _ G _ _", Set.of('S')));
+    }
+
+    @Test
+    @DisplayName("La recherche par masque et les comptages ignorent les accents, comme le jeu")
+    void testRechercherMotifAccents() {
+        dictionnaire.ajouterMots(List.of("ÉLÈVE", "ÉTAGE", "AVION"));
+
+        assertEquals(List.of("ÉLÈVE"), dictionnaire.rechercherMotif("É _ E _ e", null));
+        assertEquals(List.of("AVION"), dictionnaire.rechercherMotif("_ _ _ _ _", Set.of('E')));
+        assertEquals(List.of("ÉTAGE"), dictionnaire.rechercherMotif("E _ _ _ E", Set.of('L')));
+        assertEquals(2, dictionnaire.compterMotsContenant(5, 'e'));
+        assertEquals(2, dictionnaire.compterMotsAvecLettreEn(5, 0, 'È'));
+    }
+
+    @Test
+    @DisplayName("Rechercher avec un masque invalide doit lever exception")
+    void testRechercherMotifInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.rechercherMotif(null, null));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.rechercherMotif("A _ 1", null));
+    }
+
+    @Test
+    @DisplayName("Obtenir mot aléatoire par intervalle de longueurs")
+    void testObtenirMotAleatoireParLongueur() {
+        dictionnaire.ajouterMots(List.of("OUI", "JAVA", "ORDINATEUR"));
+
+        assertEquals("ORDINATEUR", dictionnaire.obtenirMotAleatoire(6, 12));
+        assertEquals(4, dictionnaire.obtenirMotAleatoire(4, 4).length());
+        assertThrows(IllegalStateException.class, () -> dictionnaire.obtenirMotAleatoire(5, 9));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.obtenirMotAleatoire(4, 3));
+    }
+
+    @Test
+    @DisplayName("Obtenir mot aléatoire par difficulté après chargement")
+    void testObtenirMotAleatoireParDifficulte() throws IOException {
+        File fichier = dossierTemp.resolve("test.txt").toFile();
+        try (FileWriter writer = new FileWriter(fichier)) {
+            writer.write("JAVA\nORDINATEUR\n");
+        }
+
+        dictionnaire.chargerDepuisFichier(fichier.getAbsolutePath());
+
+        assertEquals("JAVA", dictionnaire.obtenirMotAleatoire(Difficulte.DIFFICILE));
+        assertEquals("ORDINATEUR", dictionnaire.obtenirMotAleatoire(Difficulte.FACILE));
+        assertThrows(IllegalStateException.class, () -> dictionnaire.obtenirMotAleatoire(Difficulte.MOYEN));
+
+        dictionnaire.vider();
+        assertThrows(IllegalStateException.class, () -> dictionnaire.obtenirMotAleatoire(Difficulte.FACILE));
+    }
+
+    @Test
+    @DisplayName("Charger privilégie le dictionnaire compilé s'il est à jour")
+    void testChargerDictionnaireCompile() throws IOException {
+        File fichier = dossierTemp.resolve("mots.txt").toFile();
+        try (FileWriter writer = new FileWriter(fichier)) {
+            writer.write("JAVA\nPYTHON\n");
+        }
+
+        String cheminBinaire = DictionnaireService.cheminCompile(fichier.getAbsolutePath());
+        assertTrue(cheminBinaire.endsWith("mots.dict"));
+
+        // Sans fichier compilé : lecture du texte
+        dictionnaire.charger(fichier.getAbsolutePath());
+        assertEquals(2, dictionnaire.getNombreMots());
+
+        dictionnaire.ajouterMot("RUBY");
+        dictionnaire.compilerVers(cheminBinaire);
+
+        DictionnaireService autre = new DictionnaireService();
+        autre.charger(fichier.getAbsolutePath());
+        assertEquals(List.of("JAVA", "PYTHON", "RUBY"), autre.getMots());
+        assertEquals(List.of("RUBY"), autre.rechercherMotif("R _ _ _", null));
+    }
+
+    @Test
+    @DisplayName("Un dictionnaire compilé illisible est ignoré au profit du texte")
+    void testChargerDictionnaireCompileCorrompu() throws IOException {
+        File fichier = dossierTemp.resolve("mots.txt").toFile();
+        try (FileWriter writer = new FileWriter(fichier)) {
+            writer.write("JAVA\nPYTHON\n");
+        }
+        Path binaire = Paths.get(DictionnaireService.cheminCompile(fichier.getAbsolutePath()));
+        Files.write(binaire, new byte[64]);
+
+        dictionnaire.charger(fichier.getAbsolutePath());
+        assertEquals(List.of("JAVA", "PYTHON"), dictionnaire.getMots());
+
+        // Sans texte pour se rabattre, l'erreur du fichier compilé remonte
+        assertThrows(IOException.class, () -> dictionnaire.charger(binaire.toString()));
+    }
+
+    @Test
+    @DisplayName("Après un chargement compilé, filtre et statistiques sont construits à la demande")
+    void testChargerDictionnaireCompilePuisInterroger() throws IOException {
+        dictionnaire.ajouterMots(List.of("JAVA", "RUBY", "PYTHON"));
+        String chemin = dossierTemp.resolve("mots.dict").toString();
+        dictionnaire.compilerVers(chemin);
+
+        DictionnaireService autre = new DictionnaireService();
+        autre.chargerDepuisBinaire(chemin);
+        autre.ajouterMot("JOUR");
+
+        assertTrue(autre.contient("ruby"));
+        assertTrue(autre.contient("JOUR"));
+        assertFalse(autre.contient("PERL"));
+        assertEquals(3, autre.compterMotsDeLongueur(4));
+        assertEquals(2, autre.compterMotsAvecLettreEn(4, 0, 'J'));
+
+        autre.ajouterMot("PERL");
+        assertTrue(autre.contient("PERL"));
+        assertEquals(4, autre.compterMotsDeLongueur(4));
+    }
+
+    @Test
+    @DisplayName("Compiler un dictionnaire vide doit lever exception")
+    void testCompilerDictionnaireVide() {
+        assertThrows(IllegalStateException.class,
+                () -> dictionnaire.compilerVers(dossierTemp.resolve("vide.dict").toString()));
+    }
+
+    @Test
+    @DisplayName("Les lectures concurrentes voient toujours un dictionnaire complet pendant les rechargements")
+    void testRechargementConcurrent() throws Exception {
+        File premier = dossierTemp.resolve("premier.txt").toFile();
+        File second = dossierTemp.resolve("second.txt").toFile();
+        try (FileWriter writer = new FileWriter(premier)) {
+            writer.write("JAVA\nPYTHON\n");
+        }
+        try (FileWriter writer = new FileWriter(second)) {
+            writer.write("RUBY\nKOTLIN\nSCALA\n");
+        }
+        Set<String> attendus = Set.of("JAVA", "PYTHON", "RUBY", "KOTLIN", "SCALA");
+        dictionnaire.chargerDepuisFichier(premier.getAbsolutePath());
+
+        AtomicBoolean fini = new AtomicBoolean();
+        AtomicReference<Throwable> erreur = new AtomicReference<>();
+        Thread[] lecteurs = new Thread[4];
+        for (int i = 0; i < lecteurs.length; i++) {
+            lecteurs[i] = new Thread(() -> {
+                try {
+                    while (!fini.get()) {
+                        assertTrue(attendus.contains(dictionnaire.obtenirMotAleatoire()));
+                        assertTrue(dictionnaire.getNombreMots() >= 2);
+                    }
+                } catch (Throwable t) {
+                    erreur.compareAndSet(null, t);
+                }
+            });
+            lecteurs[i].start();
+        }
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                dictionnaire.chargerDepuisFichierMappe((i % 2 == 0 ? second : premier).getAbsolutePath());
+            }
+        } finally {
+            fini.set(true);
+            for (Thread lecteur : lecteurs) {
+                lecteur.join();
+            }
+        }
+
+        assertNull(erreur.get());
+        assertEquals(List.of("JAVA", "PYTHON"), dictionnaire.getMots());
+    }
+
+    @Test
+    @DisplayName("Un chargement en échec conserve le dictionnaire précédent")
+    void testChargementEchoueConserveDictionnaire() {
+        dictionnaire.ajouterMot("JAVA");
+        dictionnaire.ajouterMot("PYTHON");
+
+        assertThrows(IOException.class,
+                () -> dictionnaire.chargerDepuisFichier(dossierTemp.resolve("absent.txt").toString()));
+        assertEquals(List.of("JAVA", "PYTHON"), dictionnaire.getMots());
+    }
+
+    @Test
+    @DisplayName("L'index des motifs suit les ajouts sans affecter les recherches déjà faites")
+    void testIndexMotifsApresAjout() {
+        dictionnaire.ajouterMot("JAVA");
+        assertEquals(List.of("JAVA"), dictionnaire.rechercherMotif("_ _ _ _", null));
+
+        dictionnaire.ajouterMots(List.of("RUBY", "PERL"));
+        assertEquals(List.of("JAVA", "RUBY", "PERL"), dictionnaire.rechercherMotif("_ _ _ _", null));
+    }
+
+    @Test
+    @DisplayName("Charger plusieurs sources : texte, gzip et dossier, avec bilan par fichier")
+    void testChargerDepuisSources() throws IOException {
+        Path texte = dossierTemp.resolve("a.txt");
+        Files.write(texte, "JAVA\nC++\n\nPYTHON\n".getBytes(StandardCharsets.UTF_8));
+
+        Path compresse = dossierTemp.resolve("b.txt.gz");
+        try (OutputStream sortie = new GZIPOutputStream(Files.newOutputStream(compresse))) {
+            sortie.write("ruby\nkotlin\n123\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        Path dossier = Files.createDirectories(dossierTemp.resolve("shards/sous"));
+        Files.write(dossierTemp.resolve("shards/1.txt"), "SCALA\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dossier.resolve("2.txt"), "ÉLÈVE\nJAVA".getBytes(StandardCharsets.UTF_8));
+
+        BilanChargement bilan = dictionnaire.chargerDepuisSources(texte.toString(), compresse.toString(),
+                dossierTemp.resolve("shards").toString());
+
+        assertEquals(List.of("JAVA", "PYTHON", "RUBY", "KOTLIN", "SCALA", "ÉLÈVE"), dictionnaire.getMots());
+        assertEquals(4, bilan.getSources().size());
+        assertEquals(2, bilan.getSources().get(0).getAcceptees());
+        assertEquals(1, bilan.getSources().get(0).getRejetees());
+        assertEquals(2, bilan.getSources().get(1).getAcceptees());
+        assertEquals(1, bilan.getSources().get(1).getRejetees());
+        assertTrue(bilan.getSources().get(3).getNom().endsWith("2.txt"));
+        assertEquals(7, bilan.getTotalAcceptees());
+        assertEquals(2, bilan.getTotalRejetees());
+    }
+
+    @Test
+    @DisplayName("Charger depuis un flux lu par petits morceaux")
+    void testChargerDepuisFlux() throws IOException {
+        StringBuilder contenu = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            contenu.append(lettres(i)).append(i % 10 == 0 ? "!\n" : "\r\n");
+        }
+        // Une ligne plus longue qu'un bloc de lecture
+        contenu.append("L".repeat(100000)).append('\n');
+        byte[] octets = contenu.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Flux qui ne rend que quelques octets à la fois, pour couper les lignes entre deux lectures
+        InputStream flux = new FilterInputStream(new ByteArrayInputStream(octets)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+
+        BilanChargement bilan = dictionnaire.chargerDepuisFlux(flux, "entrée");
+
+        assertEquals("entrée", bilan.getSources().get(0).getNom());
+        assertEquals(18001, bilan.getTotalAcceptees());
+        assertEquals(2000, bilan.getTotalRejetees());
+        assertTrue(dictionnaire.getMots().contains(lettres(1)));
+        assertFalse(dictionnaire.getMots().contains(lettres(10)));
+    }
+
+    @Test
+    @DisplayName("Charger des sources sans mot valide doit lever exception")
+    void testChargerDepuisSourcesVides() throws IOException {
+        Path texte = dossierTemp.resolve("vide.txt");
+        Files.write(texte, "123\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.chargerDepuisSources());
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.chargerDepuisSources(texte.toString()));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.chargerDepuisFlux(null, "stdin"));
+    }
+
+    @Test
+    @DisplayName("La rotation d'un joueur ne répète aucun mot avant d'avoir tout parcouru")
+    void testRotationSansRepetition() {
+        for (int i = 0; i < 500; i++) {
+            dictionnaire.ajouterMot("MOT" + lettres(i));
+        }
+
+        RotationJoueur rotation = new RotationJoueur(42L);
+        Set<String> premierTour = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(premierTour.add(dictionnaire.obtenirMotSansRepetition(rotation)));
+        }
+        assertEquals(500, rotation.getCurseur());
+
+        // Le tour suivant parcourt à nouveau tous les mots, dans un autre ordre
+        List<String> secondTour = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            secondTour.add(dictionnaire.obtenirMotSansRepetition(rotation));
+        }
+        assertEquals(premierTour, new HashSet<>(secondTour));
+
+        // Graine et curseur suffisent pour reprendre la rotation
+        RotationJoueur reprise = new RotationJoueur(42L, 500);
+        assertEquals(secondTour.get(0), dictionnaire.obtenirMotSansRepetition(reprise));
+    }
+
+    @Test
+    @DisplayName("Rotation invalide ou dictionnaire vide")
+    void testRotationInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.obtenirMotSansRepetition(null));
+        assertThrows(IllegalArgumentException.class, () -> new RotationJoueur(1L, -1));
+        assertThrows(IllegalStateException.class,
+                () -> dictionnaire.obtenirMotSansRepetition(new RotationJoueur(1L)));
+    }
+
+    @Test
+    @DisplayName("Recherche, comptage et tirage par préfixe")
+    void testRechercherPrefixe() {
+        dictionnaire.ajouterMots(List.of("PYTHON", "PENDU", "JAVA", "PERL", "PENDULE"));
+
+        assertEquals(List.of("PENDU", "PENDULE", "PERL"), dictionnaire.rechercherPrefixe("pe"));
+        assertEquals(List.of("PENDU"), dictionnaire.rechercherPrefixe("PE", 1));
+        assertEquals(5, dictionnaire.compterPrefixe(""));
+        assertEquals(2, dictionnaire.compterPrefixe("PEND"));
+        assertTrue(dictionnaire.obtenirMotAleatoireCommencantPar("PEND").startsWith("PENDU"));
+
+        // Le graphe suit les ajouts
+        dictionnaire.ajouterMot("PENDULES");
+        assertEquals(3, dictionnaire.compterPrefixe("PEND"));
+        assertEquals(List.of("PENDU", "PENDULE", "PENDULES", "PERL"), dictionnaire.rechercherPrefixe("PE"));
+
+        assertThrows(IllegalStateException.class, () -> dictionnaire.obtenirMotAleatoireCommencantPar("Z"));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.rechercherPrefixe("P3"));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.compterPrefixe(null));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.rechercherPrefixe("P", -1));
+    }
+
+    @Test
+    @DisplayName("Appartenance d'un mot au dictionnaire")
+    void testContient() {
+        dictionnaire.ajouterMots(List.of("PENDU", "JAVA", "ÉLÈVE"));
+
+        assertTrue(dictionnaire.contient("PENDU"));
+        assertTrue(dictionnaire.contient(" java "));
+        assertTrue(dictionnaire.contient("élève"));
+        assertFalse(dictionnaire.contient("PEND"));
+        assertFalse(dictionnaire.contient("RUBY"));
+        assertFalse(dictionnaire.contient("JAVA1"));
+        assertFalse(dictionnaire.contient(""));
+        assertFalse(dictionnaire.contient(null));
+    }
+
+    @Test
+    @DisplayName("L'appartenance suit les ajouts au-delà de la capacité initiale du filtre")
+    void testContientApresAjouts() {
+        dictionnaire.ajouterMot("PENDU");
+        assertFalse(dictionnaire.contient("MOTB"));
+
+        List<String> nouveaux = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            nouveaux.add("MOT" + lettres(i));
+        }
+        dictionnaire.ajouterMots(nouveaux);
+
+        for (String mot : nouveaux) {
+            assertTrue(dictionnaire.contient(mot));
+        }
+        assertTrue(dictionnaire.contient("PENDU"));
+        assertFalse(dictionnaire.contient("AUTRE"));
+
+        dictionnaire.vider();
+        assertFalse(dictionnaire.contient("PENDU"));
+    }
+
+    @Test
+    @DisplayName("Vue non modifiable, accès indicé et flux des mots")
+    void testVueMots() {
+        dictionnaire.ajouterMots(List.of("JAVA", "PYTHON", "RUBY"));
+
+        List<String> vue = dictionnaire.getVueMots();
+        assertEquals(List.of("JAVA", "PYTHON", "RUBY"), vue);
+        assertEquals("PYTHON", dictionnaire.getMot(1));
+        assertThrows(UnsupportedOperationException.class, () -> vue.add("PERL"));
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionnaire.getMot(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionnaire.getMot(-1));
+
+        // La vue reste celle du moment de l'appel
+        dictionnaire.ajouterMot("PERL");
+        assertEquals(3, vue.size());
+        assertEquals(4, dictionnaire.getVueMots().size());
+        assertEquals(List.of("JAVA", "PYTHON", "RUBY", "PERL"), dictionnaire.flux().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Le flux parallèle se découpe et conserve l'ordre")
+    void testFluxParallele() {
+        List<String> nouveaux = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            nouveaux.add("MOT" + lettres(i));
+        }
+        dictionnaire.ajouterMots(nouveaux);
+
+        Spliterator<String> decoupeur = dictionnaire.getVueMots().spliterator();
+        Spliterator<String> gauche = decoupeur.trySplit();
+        assertEquals(5000, gauche.estimateSize());
+        assertEquals(5000, decoupeur.estimateSize());
+        assertTrue(decoupeur.hasCharacteristics(Spliterator.SUBSIZED));
+
+        assertEquals(nouveaux, dictionnaire.flux().parallel().collect(Collectors.toList()));
+        assertEquals(10000, dictionnaire.flux().parallel().filter(mot -> mot.startsWith("MOT")).count());
+    }
+
+    @Test
+    @DisplayName("Statistiques de lettres tenues à jour par les ajouts et les chargements")
+    void testStatistiquesLettres() throws IOException {
+        dictionnaire.ajouterMots(List.of("JAVA", "RUBY", "PYTHON"));
+        assertEquals(2, dictionnaire.compterMotsDeLongueur(4));
+        assertEquals(1, dictionnaire.compterMotsContenant(4, 'a'));
+        assertEquals(1, dictionnaire.compterMotsAvecLettreEn(4, 0, 'J'));
+
+        dictionnaire.ajouterMot("JOUR");
+        assertEquals(3, dictionnaire.compterMotsDeLongueur(4));
+        assertEquals(2, dictionnaire.compterMotsAvecLettreEn(4, 0, 'J'));
+        assertEquals(2, dictionnaire.compterMotsContenant(4, 'U'));
+
+        File fichier = dossierTemp.resolve("stats.txt").toFile();
+        try (FileWriter writer = new FileWriter(fichier)) {
+            writer.write("PENDU\nPERLE\n");
+        }
+        dictionnaire.chargerDepuisFichierMappe(fichier.getAbsolutePath());
+        assertEquals(0, dictionnaire.compterMotsDeLongueur(4));
+        assertEquals(2, dictionnaire.compterMotsAvecLettreEn(5, 1, 'E'));
+
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.compterMotsDeLongueur(-1));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.compterMotsAvecLettreEn(5, 5, 'E'));
+        assertThrows(IllegalArgumentException.class, () -> dictionnaire.compterMotsContenant(5, '1'));
+    }
+}
@@ -0,0 +1,125 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.Difficulte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour FichierDictionnaire
+ * @author Imane Laasri
+ */
+class FichierDictionnaireTest {
+
+    @TempDir
+    Path dossierTemp;
+
+    @Test
+    @DisplayName("Écrire puis relire redonne les mêmes mots et index")
+    void testAllerRetour() throws IOException {
+        ArenaMots arena = new ArenaMots();
+        for (String mot : new String[] {"JAVA", "PYTHON", "ÉLÈVE", "ORDINATEUR", "OUI"}) {
+            arena.ajouter(mot);
+        }
+        Path chemin = dossierTemp.resolve("test.dict");
+
+        FichierDictionnaire.ecrire(arena, new RepartitionMots(arena), chemin);
+        FichierDictionnaire.Contenu contenu = FichierDictionnaire.lire(chemin);
+
+        assertEquals(5, contenu.arena.taille());
+        assertEquals("ÉLÈVE", contenu.arena.mot(2));
+        assertEquals(arena.masque(1), contenu.arena.masque(1));
+
+        byte[] python = "PYTHON".getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals(1, contenu.arena.indexDe(python, python.length));
+
+        SourceAleatoire source = SourceAleatoire.deterministe(3);
+        assertEquals("ORDINATEUR", contenu.arena.mot(contenu.repartition.tirer(Difficulte.FACILE, source)));
+        assertEquals("OUI", contenu.arena.mot(contenu.repartition.tirer(1, 3, source)));
+
+        // L'arène relue accepte de nouveaux mots
+        assertEquals(5, contenu.arena.ajouter("RUBY"));
+        contenu.repartition.ajouter(5);
+        assertEquals(-1, contenu.arena.ajouter("JAVA"));
+    }
+
+    @Test
+    @DisplayName("Réécrire un dictionnaire le remplace d'un bloc sans laisser de fichier temporaire")
+    void testReecritureAtomique() throws IOException {
+        ArenaMots ancienne = new ArenaMots();
+        ancienne.ajouter("JAVA");
+        ArenaMots nouvelle = new ArenaMots();
+        nouvelle.ajouter("PYTHON");
+        nouvelle.ajouter("RUBY");
+        Path chemin = dossierTemp.resolve("test.dict");
+
+        FichierDictionnaire.ecrire(ancienne, new RepartitionMots(ancienne), chemin);
+        FichierDictionnaire.ecrire(nouvelle, new RepartitionMots(nouvelle), chemin);
+
+        FichierDictionnaire.Contenu contenu = FichierDictionnaire.lire(chemin);
+        assertEquals(2, contenu.arena.taille());
+        assertEquals("RUBY", contenu.arena.mot(1));
+        try (Stream<Path> fichiers = Files.list(dossierTemp)) {
+            assertEquals(List.of(chemin), fichiers.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Fichier d'un autre format doit lever exception")
+    void testMauvaiseSignature() throws IOException {
+        Path chemin = dossierTemp.resolve("faux.dict");
+        Files.write(chemin, new byte[64]);
+
+        assertThrows(IOException.class, () -> FichierDictionnaire.lire(chemin));
+    }
+
+    @Test
+    @DisplayName("Fichier tronqué doit lever exception")
+    void testFichierTronque() throws IOException {
+        ArenaMots arena = new ArenaMots();
+        arena.ajouter("JAVA");
+        Path chemin = dossierTemp.resolve("test.dict");
+        FichierDictionnaire.ecrire(arena, new RepartitionMots(arena), chemin);
+
+        byte[] octets = Files.readAllBytes(chemin);
+        Files.write(chemin, Arrays.copyOf(octets, octets.length - 8));
+
+        assertThrows(IOException.class, () -> FichierDictionnaire.lire(chemin));
+    }
+
+    @Test
+    @DisplayName("Sections incohérentes doivent lever exception au chargement")
+    void testSectionsCorrompues() throws IOException {
+        ArenaMots arena = new ArenaMots();
+        arena.ajouter("JAVA");
+        arena.ajouter("RUBY");
+        Path chemin = dossierTemp.resolve("test.dict");
+        FichierDictionnaire.ecrire(arena, new RepartitionMots(arena), chemin);
+        byte[] octets = Files.readAllBytes(chemin);
+
+        // En-tête, 8 octets de lettres, puis les débuts 0, 4, 8 : le deuxième dépasse le troisième
+        int debuts = FichierDictionnaire.TAILLE_EN_TETE + 8;
+        byte[] debutsCorrompus = octets.clone();
+        debutsCorrompus[debuts + 4] = 100;
+        Files.write(chemin, debutsCorrompus);
+        assertThrows(IOException.class, () -> FichierDictionnaire.lire(chemin));
+
+        // Après les 3 débuts et les 2 masques : une case de la table désigne un mot inexistant
+        int table = debuts + 5 * Integer.BYTES;
+        byte[] tableCorrompue = octets.clone();
+        tableCorrompue[table] = 99;
+        Files.write(chemin, tableCorrompue);
+        assertThrows(IOException.class, () -> FichierDictionnaire.lire(chemin));
+    }
+}
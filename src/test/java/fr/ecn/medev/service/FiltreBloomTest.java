@@ -0,0 +1,51 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour FiltreBloom
+ * @author Imane Laasri
+ */
+class FiltreBloomTest {
+
+    @Test
+    @DisplayName("Aucun faux négatif et peu de faux positifs à pleine capacité")
+    void testFauxPositifs() {
+        FiltreBloom filtre = new FiltreBloom(10000);
+        for (long i = 0; i < filtre.capacite(); i++) {
+            filtre.ajouter(PermutationFeistel.melanger(i));
+        }
+
+        for (long i = 0; i < filtre.capacite(); i++) {
+            assertTrue(filtre.peutContenir(PermutationFeistel.melanger(i)));
+        }
+
+        int fauxPositifs = 0;
+        for (long i = 0; i < 100000; i++) {
+            if (filtre.peutContenir(PermutationFeistel.melanger(-1 - i))) {
+                fauxPositifs++;
+            }
+        }
+        // Cible de 1 %, avec de la marge
+        assertTrue(fauxPositifs < 2000, "faux positifs : " + fauxPositifs);
+    }
+
+    @Test
+    @DisplayName("Construction depuis une arène")
+    void testPourArena() {
+        ArenaMots arena = new ArenaMots();
+        arena.ajouter("PENDU");
+        arena.ajouter("JAVA");
+
+        FiltreBloom filtre = FiltreBloom.pour(arena);
+
+        assertTrue(filtre.capacite() >= 4);
+        assertTrue(filtre.peutContenir(arena.empreinte(0)));
+        assertTrue(filtre.peutContenir(arena.empreinte(1)));
+        byte[] java = {'J', 'A', 'V', 'A'};
+        assertEquals(arena.empreinte(1), ArenaMots.empreinte(java, 0, java.length));
+    }
+}
@@ -1,11 +1,22 @@
 package fr.ecn.medev.service;
 
+import fr.ecn.medev.model.Difficulte;
 import fr.ecn.medev.model.EtatPartie;
 import fr.ecn.medev.model.PartieJeu;
+import fr.ecn.medev.model.ResultatPropositions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -166,4 +177,204 @@ class GestionnairePartieTest {
     void testObtenirDictionnaire() {
         assertEquals(dictionnaire, gestionnaire.getDictionnaire());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Démarrer partie 1 joueur avec difficulté")
+    void testDemarrerPartieUnJoueurAvecDifficulte() {
+        gestionnaire.demarrerPartieUnJoueur(Difficulte.MOYEN);
+
+        assertEquals("PYTHON", gestionnaire.getPartieEnCours().getMotSecret());
+        assertThrows(IllegalStateException.class, () -> gestionnaire.demarrerPartieUnJoueur(Difficulte.FACILE));
+    }
+
+    @Test
+    @DisplayName("Démarrer des parties 1 joueur sans répéter les mots")
+    void testDemarrerPartieUnJoueurSansRepetition() {
+        RotationJoueur rotation = new RotationJoueur(7L);
+        Set<String> mots = new HashSet<>();
+
+        for (int i = 0; i < 3; i++) {
+            gestionnaire.demarrerPartieUnJoueur(rotation);
+            mots.add(gestionnaire.getPartieEnCours().getMotSecret());
+        }
+
+        assertEquals(Set.of("JAVA", "PYTHON", "RUBY"), mots);
+    }
+
+    @Test
+    @DisplayName("Proposer une suite de lettres à la partie en cours")
+    void testProposerLettres() {
+        assertThrows(IllegalStateException.class, () -> gestionnaire.proposerLettres("AB"));
+
+        gestionnaire.demarrerPartieDeuxJoueurs("RUBY");
+        ResultatPropositions resultat = gestionnaire.proposerLettres("RUXBY");
+
+        assertEquals(5, resultat.getNombreTraitees());
+        assertEquals(4, resultat.getNombreTouchees());
+        assertTrue(gestionnaire.partieTerminee());
+        assertEquals(EtatPartie.GAGNEE, gestionnaire.getPartieEnCours().getEtat());
+    }
+
+    @Test
+    @DisplayName("Les sessions jouent des parties indépendantes")
+    void testSessionsIndependantes() {
+        gestionnaire.demarrerPartieDeuxJoueurs(1, "JAVA");
+        gestionnaire.demarrerPartieDeuxJoueurs(2, "RUBY");
+
+        assertTrue(gestionnaire.proposerLettre(1, 'A'));
+        assertFalse(gestionnaire.proposerLettre(2, 'A'));
+
+        assertEquals("_ A _ A", gestionnaire.getPartie(1).getMotAffiche());
+        assertEquals(1, gestionnaire.getInstantane(2).getNombreErreurs());
+        assertEquals(2, gestionnaire.getNombreSessions());
+
+        // La session par défaut reste vide
+        assertNull(gestionnaire.getPartieEnCours());
+        assertThrows(IllegalStateException.class, () -> gestionnaire.proposerLettre('A'));
+        assertThrows(IllegalStateException.class, () -> gestionnaire.proposerLettre(3, 'A'));
+    }
+
+    @Test
+    @DisplayName("Fermer une session oublie sa partie")
+    void testFermerSession() {
+        gestionnaire.demarrerPartieUnJoueur(5);
+
+        assertTrue(gestionnaire.fermerSession(5));
+        assertFalse(gestionnaire.fermerSession(5));
+        assertNull(gestionnaire.getPartie(5));
+        assertNull(gestionnaire.getInstantane(5));
+        assertEquals(0, gestionnaire.getNombreSessions());
+    }
+
+    @Test
+    @DisplayName("Parties concurrentes sur plusieurs threads")
+    void testSessionsConcurrentes() throws Exception {
+        int nombreSessions = 64;
+        ExecutorService executeur = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResultatPropositions>> resultats = new ArrayList<>();
+            for (int s = 0; s < nombreSessions; s++) {
+                int idSession = s;
+                resultats.add(executeur.submit(() -> {
+                    gestionnaire.demarrerPartieDeuxJoueurs(idSession, "PYTHON");
+                    gestionnaire.proposerLettre(idSession, 'P');
+                    gestionnaire.proposerLettre(idSession, 'Z');
+                    return gestionnaire.proposerLettres(idSession, "YTHON");
+                }));
+            }
+            for (Future<ResultatPropositions> resultat : resultats) {
+                assertEquals(5, resultat.get().getNombreTouchees());
+            }
+        } finally {
+            executeur.shutdown();
+        }
+
+        assertEquals(nombreSessions, gestionnaire.getNombreSessions());
+        for (int s = 0; s < nombreSessions; s++) {
+            assertEquals(EtatPartie.GAGNEE, gestionnaire.getInstantane(s).getEtat());
+            assertEquals(1, gestionnaire.getInstantane(s).getNombreErreurs());
+        }
+    }
+
+    @Test
+    @DisplayName("Une session inactive est fermée, une session active est conservée")
+    void testExpirationInactivite() {
+        AtomicLong horloge = new AtomicLong(0);
+        gestionnaire.activerExpiration(new ReglesExpiration(1000, 0, 0), horloge::get);
+        gestionnaire.demarrerPartieDeuxJoueurs(1, "JAVA");
+        gestionnaire.demarrerPartieDeuxJoueurs(2, "RUBY");
+
+        horloge.set(800);
+        gestionnaire.proposerLettre(2, 'R');
+
+        horloge.set(1200);
+        assertEquals(1, gestionnaire.traiterExpirations());
+        assertNull(gestionnaire.getPartie(1));
+        assertNotNull(gestionnaire.getPartie(2));
+
+        horloge.set(1900);
+        assertEquals(1, gestionnaire.traiterExpirations());
+        assertEquals(0, gestionnaire.getNombreSessions());
+        assertEquals(0, gestionnaire.nombreEcheances());
+    }
+
+    @Test
+    @DisplayName("Une session est fermée au bout de sa durée de vie malgré l'activité")
+    void testExpirationDureeDeVie() {
+        AtomicLong horloge = new AtomicLong(0);
+        gestionnaire.activerExpiration(new ReglesExpiration(0, 5000, 0), horloge::get);
+        gestionnaire.demarrerPartieDeuxJoueurs(1, "PYTHON");
+
+        for (long t = 1000; t < 5000; t += 1000) {
+            horloge.set(t);
+            gestionnaire.proposerLettre(1, 'P');
+            assertEquals(0, gestionnaire.traiterExpirations());
+        }
+
+        // Une nouvelle partie dans la même session ne prolonge pas sa durée de vie
+        gestionnaire.demarrerPartieDeuxJoueurs(1, "RUBY");
+        horloge.set(5000);
+        assertEquals(1, gestionnaire.traiterExpirations());
+        assertNull(gestionnaire.getPartie(1));
+    }
+
+    @Test
+    @DisplayName("Une partie sans proposition dans le délai est abandonnée")
+    void testDelaiParCoup() {
+        AtomicLong horloge = new AtomicLong(0);
+        gestionnaire.activerExpiration(new ReglesExpiration(0, 0, 300), horloge::get);
+        gestionnaire.demarrerPartieDeuxJoueurs(1, "JAVA");
+        gestionnaire.demarrerPartieDeuxJoueurs(2, "RUBY");
+
+        horloge.set(200);
+        gestionnaire.proposerLettre(1, 'A');
+
+        horloge.set(400);
+        assertEquals(1, gestionnaire.traiterExpirations());
+        assertEquals(EtatPartie.PERDUE, gestionnaire.getPartie(2).getEtat());
+        assertEquals(0, gestionnaire.getPartie(2).getNombreErreurs());
+        assertEquals(EtatPartie.EN_COURS, gestionnaire.getPartie(1).getEtat());
+
+        // Proposition arrivée après le délai, avant le passage de la roue : refusée et partie abandonnée
+        horloge.set(520);
+        assertThrows(IllegalStateException.class, () -> gestionnaire.proposerLettre(1, 'J'));
+        assertEquals(EtatPartie.PERDUE, gestionnaire.getPartie(1).getEtat());
+        assertEquals(0, gestionnaire.traiterExpirations());
+        assertEquals(0, gestionnaire.nombreEcheances());
+    }
+
+    @Test
+    @DisplayName("Activer l'expiration arme une fois chaque session, ouverte avant ou pendant l'activation")
+    void testActiverExpirationSessionsOuvertes() throws InterruptedException {
+        AtomicLong horloge = new AtomicLong(0);
+        for (int s = 0; s < 100; s++) {
+            gestionnaire.demarrerPartieDeuxJoueurs(s, "JAVA");
+        }
+
+        Thread ouvertures = new Thread(() -> {
+            for (int s = 100; s < 2100; s++) {
+                gestionnaire.demarrerPartieDeuxJoueurs(s, "RUBY");
+            }
+        });
+        ouvertures.start();
+        gestionnaire.activerExpiration(new ReglesExpiration(1000, 0, 0), horloge::get);
+        ouvertures.join();
+
+        // Une seule échéance (l'inactivité) par session, quel que soit le moment de son ouverture
+        assertEquals(2100, gestionnaire.nombreEcheances());
+        horloge.set(1000);
+        assertEquals(2100, gestionnaire.traiterExpirations());
+        assertEquals(0, gestionnaire.getNombreSessions());
+    }
+
+    @Test
+    @DisplayName("Activer l'expiration deux fois doit lever exception")
+    void testActiverExpirationDeuxFois() {
+        assertEquals(0, gestionnaire.traiterExpirations());
+        gestionnaire.activerExpiration(new ReglesExpiration(1000, 0, 0));
+
+        assertThrows(IllegalStateException.class,
+            () -> gestionnaire.activerExpiration(new ReglesExpiration(1000, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> new ReglesExpiration(-1, 0, 0));
+    }
+}
@@ -0,0 +1,142 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GrapheMots
+ * @author Imane Laasri
+ */
+class GrapheMotsTest {
+
+    private static GrapheMots construire(String... mots) {
+        ArenaMots arena = new ArenaMots();
+        for (String mot : mots) {
+            arena.ajouter(mot);
+        }
+        return new GrapheMots(arena.figer());
+    }
+
+    @Test
+    @DisplayName("Appartenance : mots complets uniquement")
+    void testContient() {
+        GrapheMots graphe = construire("PENDU", "PENDULE", "JAVA", "ÉLÈVE");
+
+        assertTrue(graphe.contient("PENDU"));
+        assertTrue(graphe.contient("PENDULE"));
+        assertTrue(graphe.contient("ÉLÈVE"));
+        assertFalse(graphe.contient("PEND"));
+        assertFalse(graphe.contient("PENDULES"));
+        assertFalse(graphe.contient("RUBY"));
+        assertFalse(graphe.contient(""));
+    }
+
+    @Test
+    @DisplayName("Énumération et comptage par préfixe, dans l'ordre alphabétique")
+    void testPrefixe() {
+        GrapheMots graphe = construire("PYTHON", "PENDULE", "PENDU", "JAVA", "PERL");
+
+        assertEquals(List.of("PENDU", "PENDULE", "PERL", "PYTHON"), graphe.enumerer("P", Integer.MAX_VALUE));
+        assertEquals(List.of("PENDU", "PENDULE"), graphe.enumerer("PEND", Integer.MAX_VALUE));
+        assertEquals(List.of("PENDU"), graphe.enumerer("P", 1));
+        assertEquals(List.of(), graphe.enumerer("Z", 10));
+        assertEquals(4, graphe.compter("P"));
+        assertEquals(5, graphe.compter(""));
+        assertEquals(0, graphe.compter("PX"));
+    }
+
+    @Test
+    @DisplayName("Le k-ième mot suit l'ordre alphabétique")
+    void testKieme() {
+        GrapheMots graphe = construire("PYTHON", "PENDULE", "PENDU", "JAVA", "PERL");
+
+        List<String> tous = new ArrayList<>();
+        for (int rang = 0; rang < graphe.compter(""); rang++) {
+            tous.add(graphe.kieme("", rang));
+        }
+        assertEquals(List.of("JAVA", "PENDU", "PENDULE", "PERL", "PYTHON"), tous);
+        assertEquals("PERL", graphe.kieme("PE", 2));
+    }
+
+    @Test
+    @DisplayName("Les suffixes communs sont partagés")
+    void testMinimisation() {
+        List<String> mots = new ArrayList<>();
+        String[] radicaux = {"CHANT", "DANS", "MARCH", "PARL", "REGARD", "TROUV", "AIM", "DONN"};
+        String[] terminaisons = {"ER", "E", "ES", "ONS", "EZ", "ENT", "AIS", "AIT", "IONS", "IEZ", "AIENT"};
+        for (String radical : radicaux) {
+            for (String terminaison : terminaisons) {
+                mots.add(radical + terminaison);
+            }
+        }
+        GrapheMots graphe = construire(mots.toArray(new String[0]));
+
+        // Toutes les terminaisons sont partagées : bien moins de nœuds que de lettres
+        int lettres = mots.stream().mapToInt(String::length).sum();
+        assertTrue(graphe.nombreNoeuds() < lettres / 5);
+        assertTrue(graphe.octetsOccupes() < lettres * 2L);
+        assertEquals(new ArrayList<>(new TreeSet<>(mots)), graphe.enumerer("", Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Les mots ajoutés après la construction sont fusionnés dans l'ordre alphabétique")
+    void testAvec() {
+        ArenaMots arena = new ArenaMots();
+        for (String mot : new String[] {"PYTHON", "PENDU", "JAVA", "PERL"}) {
+            arena.ajouter(mot);
+        }
+        GrapheMots initial = new GrapheMots(arena.figer());
+
+        int premierId = arena.taille();
+        arena.ajouter("PENDULE");
+        arena.ajouter("ADA");
+        arena.ajouter("PASCAL");
+        GrapheMots graphe = initial.avec(arena.figer(), premierId);
+
+        assertTrue(graphe.contient("PENDULE"));
+        assertTrue(graphe.contient("JAVA"));
+        assertFalse(graphe.contient("PEND"));
+        assertFalse(initial.contient("PENDULE"));
+        assertEquals(3, graphe.compter("PE"));
+        assertEquals(7, graphe.compter(""));
+        assertEquals(List.of("PASCAL", "PENDU", "PENDULE", "PERL", "PYTHON"), graphe.enumerer("P", 10));
+        assertEquals(List.of("ADA", "JAVA"), graphe.enumerer("", 2));
+
+        List<String> tous = new ArrayList<>();
+        for (int rang = 0; rang < graphe.compter(""); rang++) {
+            tous.add(graphe.kieme("", rang));
+        }
+        assertEquals(List.of("ADA", "JAVA", "PASCAL", "PENDU", "PENDULE", "PERL", "PYTHON"), tous);
+        assertEquals("PENDULE", graphe.kieme("PEN", 1));
+    }
+
+    @Test
+    @DisplayName("Trop de mots hors du graphe : une reconstruction est demandée")
+    void testAvecTropDAjouts() {
+        ArenaMots arena = new ArenaMots();
+        arena.ajouter("JAVA");
+        GrapheMots graphe = new GrapheMots(arena.figer());
+
+        int premierId = arena.taille();
+        for (int i = 0; i < 1000; i++) {
+            arena.ajouter("MOT" + i);
+        }
+        assertNull(graphe.avec(arena.figer(), premierId));
+    }
+
+    @Test
+    @DisplayName("Graphe vide")
+    void testGrapheVide() {
+        GrapheMots graphe = construire();
+
+        assertEquals(0, graphe.compter(""));
+        assertFalse(graphe.contient("A"));
+        assertEquals(List.of(), graphe.enumerer("", 10));
+    }
+}
@@ -0,0 +1,84 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour IndexMotifs
+ * @author Imane Laasri
+ */
+class IndexMotifsTest {
+
+    private ArenaMots arena;
+    private IndexMotifs index;
+
+    @BeforeEach
+    void setUp() {
+        arena = new ArenaMots();
+        arena.ajouter("ARBRE");
+        arena.ajouter("ANGES");
+        arena.ajouter("AIGLE");
+        arena.ajouter("JAVA");
+        index = new IndexMotifs(arena);
+    }
+
+    @Test
+    @DisplayName("Lettres révélées filtrent par position")
+    void testLettresRevelees() {
+        char[] motif = {'A', 0, 'G', 0, 0};
+
+        assertEquals(List.of("ANGES", "AIGLE"), index.rechercher(motif, new boolean[256]));
+    }
+
+    @Test
+    @DisplayName("Lettres exclues retirent les mots qui les contiennent")
+    void testLettresExclues() {
+        char[] motif = {'A', 0, 'G', 0, 0};
+        boolean[] exclues = new boolean[256];
+        exclues['S'] = true;
+
+        assertEquals(List.of("AIGLE"), index.rechercher(motif, exclues));
+    }
+
+    @Test
+    @DisplayName("Une case masquée ne peut pas contenir une lettre déjà révélée")
+    void testLettreReveleeAbsenteDesCasesMasquees() {
+        char[] motif = {0, 'A', 0, 0};
+
+        assertTrue(index.rechercher(motif, new boolean[256]).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les lettres accentuées sont indexées sans leur accent")
+    void testLettresAccentuees() {
+        arena.ajouter("ÉLÈVE");
+        arena.ajouter("ÉTAGE");
+        index = new IndexMotifs(arena);
+
+        assertEquals(List.of("ÉLÈVE"), index.rechercher(new char[] {'E', 0, 'E', 0, 'E'}, new boolean[256]));
+
+        // Une case masquée ne peut pas cacher une variante accentuée d'une lettre révélée
+        assertEquals(List.of("ÉTAGE"), index.rechercher(new char[] {'E', 0, 0, 0, 'E'}, new boolean[256]));
+
+        boolean[] exclues = new boolean[256];
+        exclues['E'] = true;
+        assertTrue(index.rechercher(new char[5], exclues).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les mots ajoutés après construction sont indexés")
+    void testAjoutIncremental() {
+        for (int i = 0; i < 200; i++) {
+            index = index.avec(arena, arena.ajouter("A" + (char) ('H' + i / 16) + "G" + (char) ('H' + i % 16) + "Z"));
+        }
+
+        char[] motif = {'A', 0, 'G', 0, 'Z'};
+        assertEquals(200, index.rechercher(motif, new boolean[256]).size());
+        assertTrue(index.rechercher(new char[12], new boolean[256]).isEmpty());
+    }
+}
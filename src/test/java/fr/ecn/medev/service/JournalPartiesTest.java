@@ -0,0 +1,319 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.EtatPartie;
+import fr.ecn.medev.model.InstantanePartie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour JournalParties
+ * @author Imane Laasri
+ */
+class JournalPartiesTest {
+
+    @TempDir
+    Path dossierTemp;
+
+    @Test
+    @DisplayName("Rejouer redonne l'état de chaque session")
+    void testRejouer() throws IOException {
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+        try (JournalParties journal = new JournalParties(chemin)) {
+            assertTrue(journal.getSessionsRestaurees().isEmpty());
+            journal.enregistrerDebut(1, "ALGORITHME", 6);
+            journal.enregistrerLettre(1, 'a');
+            journal.enregistrerLettre(1, 'Z');
+            journal.enregistrerDebut(2, "ÉTÉ", 3);
+            journal.enregistrerLettre(2, 'E');
+            journal.enregistrerLettre(2, 'T');
+        }
+
+        // 10 lettres : un démarrage et deux événements de caractères
+        assertEquals(9L * JournalParties.TAILLE_EVENEMENT, Files.size(Path.of(chemin)));
+
+        Map<Integer, InstantanePartie> sessions = JournalParties.rejouer(chemin);
+        assertEquals(2, sessions.size());
+        assertEquals("A _ _ _ _ _ _ _ _ _", sessions.get(1).getMotAffiche());
+        assertEquals(1, sessions.get(1).getNombreErreurs());
+        assertEquals(EtatPartie.GAGNEE, sessions.get(2).getEtat());
+        assertEquals("ÉTÉ", sessions.get(2).getMotSecret());
+
+        // Les sessions restaurées ne retiennent pas les instantanés intermédiaires du rejeu
+        assertTrue(sessions.get(1).estInitial());
+        assertTrue(sessions.get(2).estInitial());
+        assertThrows(UnsupportedOperationException.class, () -> sessions.remove(1));
+    }
+
+    @Test
+    @DisplayName("Une nouvelle partie de la même session remplace la précédente")
+    void testNouvellePartie() throws IOException {
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+        try (JournalParties journal = new JournalParties(chemin)) {
+            journal.enregistrerDebut(0, "JAVA", 6);
+            journal.enregistrerLettre(0, 'J');
+            journal.enregistrerDebut(0, "RUBY", 4);
+        }
+
+        InstantanePartie partie = JournalParties.rejouer(chemin).get(0);
+        assertEquals("RUBY", partie.getMotSecret());
+        assertTrue(partie.getLettresProposees().isEmpty());
+        assertEquals(4, partie.getErreursMaximales());
+    }
+
+    @Test
+    @DisplayName("Une fin d'écriture interrompue est ignorée puis tronquée à la réouverture")
+    void testFinInterrompue() throws IOException {
+        Path fichier = dossierTemp.resolve("parties.journal");
+        try (JournalParties journal = new JournalParties(fichier.toString())) {
+            journal.enregistrerDebut(0, "JAVA", 6);
+            journal.enregistrerLettre(0, 'A');
+        }
+        long tailleValide = Files.size(fichier);
+
+        // Événement à moitié écrit
+        Files.write(fichier, new byte[JournalParties.TAILLE_EVENEMENT / 2], StandardOpenOption.APPEND);
+        assertEquals("_ A _ A", JournalParties.rejouer(fichier.toString()).get(0).getMotAffiche());
+
+        try (JournalParties journal = new JournalParties(fichier.toString())) {
+            assertEquals(tailleValide, Files.size(fichier));
+            assertEquals("_ A _ A", journal.getSessionsRestaurees().get(0).getMotAffiche());
+            journal.enregistrerLettre(0, 'J');
+        }
+        assertEquals("J A _ A", JournalParties.rejouer(fichier.toString()).get(0).getMotAffiche());
+
+        // Événement complet mais corrompu : le CRC l'écarte
+        byte[] contenu = Files.readAllBytes(fichier);
+        contenu[contenu.length - JournalParties.TAILLE_EVENEMENT + 2] ^= 1;
+        Files.write(fichier, contenu);
+        assertEquals("_ A _ A", JournalParties.rejouer(fichier.toString()).get(0).getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Un événement corrompu avant la fin fait échouer l'ouverture sans rien tronquer")
+    void testCorruptionAuMilieu() throws IOException {
+        Path fichier = dossierTemp.resolve("parties.journal");
+        try (JournalParties journal = new JournalParties(fichier.toString())) {
+            journal.enregistrerDebut(0, "JAVA", 6);
+            journal.enregistrerLettre(0, 'A');
+            journal.enregistrerLettre(0, 'J');
+        }
+
+        // Deuxième événement sur trois (caractères du mot) corrompu : le suivant reste valide
+        byte[] contenu = Files.readAllBytes(fichier);
+        contenu[JournalParties.TAILLE_EVENEMENT + 20] ^= 1;
+        Files.write(fichier, contenu);
+
+        assertThrows(IOException.class, () -> JournalParties.rejouer(fichier.toString()));
+        assertThrows(IOException.class, () -> new JournalParties(fichier.toString()));
+        assertEquals(contenu.length, Files.size(fichier));
+    }
+
+    @Test
+    @DisplayName("Plusieurs événements corrompus en fin de fichier sont tronqués")
+    void testFinCorrompue() throws IOException {
+        Path fichier = dossierTemp.resolve("parties.journal");
+        try (JournalParties journal = new JournalParties(fichier.toString())) {
+            journal.enregistrerDebut(0, "JAVA", 6);
+        }
+        long tailleValide = Files.size(fichier);
+
+        // Dernier lot à moitié écrit : deux événements de zéros puis un morceau
+        Files.write(fichier, new byte[2 * JournalParties.TAILLE_EVENEMENT + 5], StandardOpenOption.APPEND);
+
+        try (JournalParties journal = new JournalParties(fichier.toString())) {
+            assertEquals(tailleValide, Files.size(fichier));
+            assertEquals("_ _ _ _", journal.getSessionsRestaurees().get(0).getMotAffiche());
+        }
+    }
+
+    @Test
+    @DisplayName("Synchronisations concurrentes : aucun événement perdu")
+    void testValidationGroupee() throws Exception {
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+        int sessions = 8;
+        ExecutorService executeur = Executors.newFixedThreadPool(4);
+        try (JournalParties journal = new JournalParties(chemin)) {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int s = 0; s < sessions; s++) {
+                int session = s;
+                taches.add(executeur.submit(() -> {
+                    journal.synchroniser(journal.enregistrerDebut(session, "ABCDEFGHIJKLMNOPQRSTUVWXYZ", 26));
+                    for (char lettre = 'A'; lettre <= 'M'; lettre++) {
+                        journal.synchroniser(journal.enregistrerLettre(session, lettre));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tache : taches) {
+                tache.get();
+            }
+        } finally {
+            executeur.shutdown();
+        }
+
+        Map<Integer, InstantanePartie> rejouees = JournalParties.rejouer(chemin);
+        assertEquals(sessions, rejouees.size());
+        for (InstantanePartie partie : rejouees.values()) {
+            assertEquals(13, partie.getLettresRestantes());
+            assertEquals(0, partie.getNombreErreurs());
+        }
+    }
+
+    @Test
+    @DisplayName("Le gestionnaire journalise et reprend la partie en cours")
+    void testGestionnaireJournalise() throws IOException {
+        DictionnaireService dictionnaire = new DictionnaireService();
+        dictionnaire.ajouterMot("JAVA");
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+
+        try (JournalParties journal = new JournalParties(chemin)) {
+            GestionnairePartie gestionnaire = new GestionnairePartie(dictionnaire, 6, journal);
+            assertNull(gestionnaire.getPartieEnCours());
+            gestionnaire.demarrerPartieUnJoueur();
+            gestionnaire.proposerLettre('A');
+            gestionnaire.proposerLettre('X');
+        }
+
+        try (JournalParties journal = new JournalParties(chemin)) {
+            GestionnairePartie reprise = new GestionnairePartie(dictionnaire, 6, journal);
+            assertEquals("_ A _ A", reprise.getPartieEnCours().getMotAffiche());
+            assertEquals(1, reprise.getPartieEnCours().getNombreErreurs());
+            assertTrue(reprise.proposerLettre('J'));
+        }
+
+        assertEquals("J A _ A", JournalParties.rejouer(chemin).get(0).getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Le gestionnaire reprend toutes les sessions du journal")
+    void testGestionnaireRepriseMultiSessions() throws IOException {
+        DictionnaireService dictionnaire = new DictionnaireService();
+        dictionnaire.ajouterMot("JAVA");
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+
+        try (JournalParties journal = new JournalParties(chemin)) {
+            GestionnairePartie gestionnaire = new GestionnairePartie(dictionnaire, 6, journal);
+            gestionnaire.demarrerPartieDeuxJoueurs(7, "RUBY");
+            gestionnaire.demarrerPartieDeuxJoueurs(8, "PYTHON");
+            gestionnaire.proposerLettres(7, "RX");
+            gestionnaire.proposerLettre(8, 'P');
+        }
+
+        try (JournalParties journal = new JournalParties(chemin)) {
+            GestionnairePartie reprise = new GestionnairePartie(dictionnaire, 6, journal);
+            assertEquals(2, reprise.getNombreSessions());
+            assertEquals("R _ _ _", reprise.getPartie(7).getMotAffiche());
+            assertEquals(1, reprise.getPartie(7).getNombreErreurs());
+            assertEquals("P _ _ _ _ _", reprise.getPartie(8).getMotAffiche());
+            assertTrue(reprise.fermerSession(7));
+        }
+
+        // La session fermée n'est pas reprise
+        assertEquals(Set.of(8), JournalParties.rejouer(chemin).keySet());
+    }
+
+    @Test
+    @DisplayName("Un abandon journalisé est rejoué")
+    void testAbandonRejoue() throws IOException {
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+        try (JournalParties journal = new JournalParties(chemin)) {
+            journal.enregistrerDebut(3, "JAVA", 6);
+            journal.enregistrerLettre(3, 'A');
+            journal.enregistrerAbandon(3);
+            journal.enregistrerLettre(3, 'J');
+        }
+
+        InstantanePartie partie = JournalParties.rejouer(chemin).get(3);
+        assertEquals(EtatPartie.PERDUE, partie.getEtat());
+        assertEquals("_ A _ A", partie.getMotAffiche());
+    }
+
+    @Test
+    @DisplayName("Fermeture et redémarrage concurrents d'une session : le rejeu garde la partie vivante")
+    void testFermetureEtDemarrageConcurrents() throws Exception {
+        DictionnaireService dictionnaire = new DictionnaireService();
+        dictionnaire.ajouterMot("JAVA");
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+        int tours = 200;
+        ExecutorService executeur = Executors.newFixedThreadPool(2);
+
+        Map<Integer, InstantanePartie> vivantes = new HashMap<>();
+        try (JournalParties journal = new JournalParties(chemin)) {
+            GestionnairePartie gestionnaire = new GestionnairePartie(dictionnaire, 6, journal);
+            // Une session par tour : fermeture et redémarrage partent en même temps
+            for (int session = 0; session < tours; session++) {
+                int id = session;
+                gestionnaire.demarrerPartieDeuxJoueurs(id, "RUBY");
+                CountDownLatch depart = new CountDownLatch(1);
+                Future<?> fermeture = executeur.submit(() -> {
+                    depart.await();
+                    return gestionnaire.fermerSession(id);
+                });
+                Future<?> demarrage = executeur.submit(() -> {
+                    depart.await();
+                    gestionnaire.demarrerPartieDeuxJoueurs(id, "JAVA");
+                    return null;
+                });
+                depart.countDown();
+                fermeture.get();
+                demarrage.get();
+                vivantes.put(id, gestionnaire.getInstantane(id));
+            }
+        } finally {
+            executeur.shutdown();
+        }
+
+        // Le journal rejoué doit dire la même chose que le gestionnaire, session par session
+        Map<Integer, InstantanePartie> rejouees = JournalParties.rejouer(chemin);
+        for (int session = 0; session < tours; session++) {
+            InstantanePartie vivante = vivantes.get(session);
+            InstantanePartie rejouee = rejouees.get(session);
+            assertEquals(vivante == null, rejouee == null, "session " + session);
+            if (vivante != null) {
+                assertEquals(vivante.getMotSecret(), rejouee.getMotSecret(), "session " + session);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Session expirée puis redémarrée : le rejeu garde la nouvelle partie")
+    void testExpirationPuisRedemarrage() throws IOException {
+        DictionnaireService dictionnaire = new DictionnaireService();
+        dictionnaire.ajouterMot("JAVA");
+        String chemin = dossierTemp.resolve("parties.journal").toString();
+        AtomicLong horloge = new AtomicLong(0);
+
+        try (JournalParties journal = new JournalParties(chemin)) {
+            GestionnairePartie gestionnaire = new GestionnairePartie(dictionnaire, 6, journal);
+            gestionnaire.activerExpiration(new ReglesExpiration(1000, 0, 0), horloge::get);
+            gestionnaire.demarrerPartieDeuxJoueurs(3, "RUBY");
+            gestionnaire.demarrerPartieDeuxJoueurs(4, "PYTHON");
+
+            horloge.set(2000);
+            assertEquals(2, gestionnaire.traiterExpirations());
+            gestionnaire.demarrerPartieDeuxJoueurs(3, "JAVA");
+        }
+
+        Map<Integer, InstantanePartie> rejouees = JournalParties.rejouer(chemin);
+        assertEquals(Set.of(3), rejouees.keySet());
+        assertEquals("JAVA", rejouees.get(3).getMotSecret());
+    }
+}
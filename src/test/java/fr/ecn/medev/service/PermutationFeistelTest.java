@@ -0,0 +1,50 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour PermutationFeistel
+ * @author Imane Laasri
+ */
+class PermutationFeistelTest {
+
+    @Test
+    @DisplayName("La permutation est une bijection quelle que soit la taille")
+    void testBijection() {
+        int[] tailles = {1, 2, 3, 4, 5, 17, 64, 100, 1000, 4097};
+
+        for (int taille : tailles) {
+            boolean[] atteints = new boolean[taille];
+            for (int i = 0; i < taille; i++) {
+                int image = PermutationFeistel.permuter(i, taille, 12345L);
+                assertTrue(image >= 0 && image < taille);
+                assertFalse(atteints[image], "image en double pour la taille " + taille);
+                atteints[image] = true;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deux clés différentes donnent deux ordres différents")
+    void testClesDifferentes() {
+        int differences = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (PermutationFeistel.permuter(i, 1000, 1L) != PermutationFeistel.permuter(i, 1000, 2L)) {
+                differences++;
+            }
+        }
+        assertTrue(differences > 900);
+    }
+
+    @Test
+    @DisplayName("Les très grandes tailles restent dans les bornes")
+    void testGrandeTaille() {
+        for (int i = 0; i < 1000; i++) {
+            int image = PermutationFeistel.permuter(Integer.MAX_VALUE - 1 - i, Integer.MAX_VALUE, 7L);
+            assertTrue(image >= 0);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fr.ecn.medev.service;
+
+import fr.ecn.medev.model.Difficulte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour RepartitionMots
+ * @author Imane Laasri
+ */
+class RepartitionMotsTest {
+
+    private ArenaMots arena;
+    private RepartitionMots repartition;
+    private SourceAleatoire source;
+
+    @BeforeEach
+    void setUp() {
+        arena = new ArenaMots();
+        arena.ajouter("OUI");
+        arena.ajouter("JAVA");
+        arena.ajouter("RUBY");
+        arena.ajouter("ORDINATEUR");
+        repartition = new RepartitionMots(arena);
+        source = SourceAleatoire.deterministe(1);
+    }
+
+    @Test
+    @DisplayName("Tirage par longueur couvre tout l'intervalle et seulement lui")
+    void testTirageParLongueur() {
+        Set<String> tires = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            tires.add(arena.mot(repartition.tirer(3, 4, source)));
+        }
+
+        assertEquals(Set.of("OUI", "JAVA", "RUBY"), tires);
+        assertEquals("ORDINATEUR", arena.mot(repartition.tirer(5, 20, source)));
+        assertEquals(-1, repartition.tirer(5, 9, source));
+        assertEquals(-1, repartition.tirer(11, 40, source));
+    }
+
+    @Test
+    @DisplayName("Une borne maximale à Integer.MAX_VALUE couvre toutes les longueurs")
+    void testTirageBorneMaximale() {
+        Set<String> tires = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            tires.add(arena.mot(repartition.tirer(1, Integer.MAX_VALUE, source)));
+        }
+
+        assertEquals(Set.of("OUI", "JAVA", "RUBY", "ORDINATEUR"), tires);
+        assertEquals("ORDINATEUR", arena.mot(repartition.tirer(5, Integer.MAX_VALUE, source)));
+        assertEquals(-1, repartition.tirer(11, Integer.MAX_VALUE, source));
+    }
+
+    @Test
+    @DisplayName("Tirage par difficulté")
+    void testTirageParDifficulte() {
+        assertEquals("ORDINATEUR", arena.mot(repartition.tirer(Difficulte.FACILE, source)));
+        assertEquals(-1, repartition.tirer(Difficulte.MOYEN, source));
+
+        repartition.ajouter(arena.ajouter("PENDU"));
+        assertEquals("PENDU", arena.mot(repartition.tirer(Difficulte.MOYEN, source)));
+        assertEquals("PENDU", arena.mot(repartition.tirer(5, 5, source)));
+    }
+
+    @Test
+    @DisplayName("Niveau selon le nombre de lettres distinctes")
+    void testNiveauDifficulte() {
+        assertEquals(Difficulte.DIFFICILE, Difficulte.pour(3));
+        assertEquals(Difficulte.MOYEN, Difficulte.pour(5));
+        assertEquals(Difficulte.FACILE, Difficulte.pour(9));
+    }
+
+    @Test
+    @DisplayName("Les variantes accentuées d'une lettre ne comptent qu'une fois pour la difficulté")
+    void testNiveauAccentsReplies() {
+        // É, È et E ne sont qu'une lettre à deviner : ÉLÈVE n'a que 3 lettres distinctes
+        repartition.ajouter(arena.ajouter("ÉLÈVE"));
+
+        assertEquals(-1, repartition.tirer(Difficulte.MOYEN, source));
+        assertEquals("ÉLÈVE", arena.mot(repartition.tirer(5, 5, source)));
+    }
+}
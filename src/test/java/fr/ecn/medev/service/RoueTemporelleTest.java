@@ -0,0 +1,103 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour RoueTemporelle
+ * @author Imane Laasri
+ */
+class RoueTemporelleTest {
+
+    private static List<String> avancer(RoueTemporelle<String> roue, long maintenant) {
+        List<RoueTemporelle.Echeance<String>> echues = new ArrayList<>();
+        roue.avancer(maintenant, echues);
+        List<String> sujets = new ArrayList<>();
+        for (RoueTemporelle.Echeance<String> echeance : echues) {
+            sujets.add(echeance.sujet());
+        }
+        return sujets;
+    }
+
+    @Test
+    @DisplayName("Une échéance n'est jamais échue avant son instant")
+    void testEcheanceAPoint() {
+        RoueTemporelle<String> roue = new RoueTemporelle<>(10, 8, 0);
+        RoueTemporelle.Echeance<String> echeance = new RoueTemporelle.Echeance<>("A");
+        roue.planifier(echeance, 25);
+
+        assertTrue(avancer(roue, 24).isEmpty());
+        assertEquals(List.of("A"), avancer(roue, 30));
+        assertEquals(0, roue.taille());
+        assertTrue(avancer(roue, 1000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Échéances à plusieurs tours de roue")
+    void testPlusieursTours() {
+        RoueTemporelle<String> roue = new RoueTemporelle<>(10, 4, 0);
+        RoueTemporelle.Echeance<String> proche = new RoueTemporelle.Echeance<>("proche");
+        RoueTemporelle.Echeance<String> lointaine = new RoueTemporelle.Echeance<>("lointaine");
+        // Même case (pas 2 et pas 10, modulo 4), tours différents
+        roue.planifier(proche, 20);
+        roue.planifier(lointaine, 100);
+
+        assertEquals(List.of("proche"), avancer(roue, 50));
+        assertTrue(avancer(roue, 90).isEmpty());
+        assertEquals(List.of("lointaine"), avancer(roue, 100));
+    }
+
+    @Test
+    @DisplayName("Un saut de plusieurs tours échoit tout ce qui est dû")
+    void testGrandSaut() {
+        RoueTemporelle<String> roue = new RoueTemporelle<>(1, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            roue.planifier(new RoueTemporelle.Echeance<>("E" + i), i * 3L);
+        }
+
+        assertEquals(10, avancer(roue, 30).size());
+        assertEquals(10, roue.taille());
+        assertEquals(10, avancer(roue, 60).size());
+    }
+
+    @Test
+    @DisplayName("Replanifier et annuler en O(1)")
+    void testReplanifierEtAnnuler() {
+        RoueTemporelle<String> roue = new RoueTemporelle<>(10, 8, 0);
+        RoueTemporelle.Echeance<String> a = new RoueTemporelle.Echeance<>("A");
+        RoueTemporelle.Echeance<String> b = new RoueTemporelle.Echeance<>("B");
+        RoueTemporelle.Echeance<String> c = new RoueTemporelle.Echeance<>("C");
+        roue.planifier(a, 50);
+        roue.planifier(b, 50);
+        roue.planifier(c, 50);
+
+        roue.annuler(b);
+        roue.annuler(b);
+        roue.planifier(a, 200);
+        assertEquals(2, roue.taille());
+
+        assertEquals(List.of("C"), avancer(roue, 60));
+        assertEquals(List.of("A"), avancer(roue, 200));
+    }
+
+    @Test
+    @DisplayName("Une échéance déjà passée échoit au pas suivant")
+    void testEcheancePassee() {
+        RoueTemporelle<String> roue = new RoueTemporelle<>(10, 8, 1000);
+        roue.planifier(new RoueTemporelle.Echeance<>("A"), 500);
+
+        assertEquals(List.of("A"), avancer(roue, 1010));
+    }
+
+    @Test
+    @DisplayName("Paramètres invalides")
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new RoueTemporelle<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RoueTemporelle<String>(10, 6, 0));
+    }
+}
@@ -0,0 +1,60 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SourceAleatoire
+ * @author Imane Laasri
+ */
+class SourceAleatoireTest {
+
+    @Test
+    @DisplayName("Les tirages restent dans les bornes")
+    void testTiragesDansLesBornes() {
+        SourceAleatoire[] sources = {
+            SourceAleatoire.parThread(), SourceAleatoire.deterministe(42), SourceAleatoire.securisee()
+        };
+
+        for (SourceAleatoire source : sources) {
+            for (int i = 0; i < 1000; i++) {
+                int tirage = source.tirer(7);
+                assertTrue(tirage >= 0 && tirage < 7);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Une même graine redonne la même suite")
+    void testSourceDeterministeReproductible() {
+        SourceAleatoire premiere = SourceAleatoire.deterministe(2026);
+        SourceAleatoire seconde = SourceAleatoire.deterministe(2026);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(premiere.tirer(1000), seconde.tirer(1000));
+        }
+    }
+
+    @Test
+    @DisplayName("Le dictionnaire tire les mêmes mots avec la même graine")
+    void testDictionnaireReproductible() {
+        DictionnaireService premier = new DictionnaireService(SourceAleatoire.deterministe(7));
+        DictionnaireService second = new DictionnaireService(SourceAleatoire.deterministe(7));
+        for (String mot : new String[] {"JAVA", "PYTHON", "RUBY", "SCALA", "KOTLIN"}) {
+            premier.ajouterMot(mot);
+            second.ajouterMot(mot);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(premier.obtenirMotAleatoire(), second.obtenirMotAleatoire());
+        }
+    }
+
+    @Test
+    @DisplayName("Source null doit lever exception")
+    void testSourceNull() {
+        assertThrows(IllegalArgumentException.class, () -> new DictionnaireService(null));
+    }
+}
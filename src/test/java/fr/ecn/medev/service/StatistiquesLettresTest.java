@@ -0,0 +1,63 @@
+package fr.ecn.medev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour StatistiquesLettres
+ * @author Imane Laasri
+ */
+class StatistiquesLettresTest {
+
+    @Test
+    @DisplayName("Comptes par longueur, par lettre et par position")
+    void testComptes() {
+        ArenaMots arena = new ArenaMots();
+        arena.ajouter("JAVA");
+        arena.ajouter("RUBY");
+        arena.ajouter("PERL");
+        arena.ajouter("PYTHON");
+
+        StatistiquesLettres statistiques = new StatistiquesLettres(arena.figer());
+
+        assertEquals(3, statistiques.nombreMots(4));
+        assertEquals(1, statistiques.nombreMots(6));
+        assertEquals(0, statistiques.nombreMots(5));
+        assertEquals(0, statistiques.nombreMots(40));
+
+        // JAVA ne compte qu'une fois pour A
+        assertEquals(1, statistiques.motsContenant(4, 'A'));
+        assertEquals(1, statistiques.motsContenant(4, 'Y'));
+        assertEquals(1, statistiques.motsContenant(6, 'Y'));
+        assertEquals(0, statistiques.motsContenant(5, 'A'));
+
+        assertEquals(1, statistiques.motsAvecLettreEn(4, 1, 'A'));
+        assertEquals(1, statistiques.motsAvecLettreEn(4, 3, 'A'));
+        assertEquals(0, statistiques.motsAvecLettreEn(4, 2, 'A'));
+    }
+
+    @Test
+    @DisplayName("Les ajouts ne modifient pas les statistiques précédentes")
+    void testAjoutIncremental() {
+        ArenaMots arena = new ArenaMots();
+        arena.ajouter("JAVA");
+        StatistiquesLettres avant = new StatistiquesLettres(arena.figer());
+
+        int premierId = arena.ajouter("JOUR");
+        arena.ajouter("ÉLÈVE");
+        StatistiquesLettres apres = avant.avec(arena.figer(), premierId);
+
+        assertEquals(1, avant.nombreMots(4));
+        assertEquals(1, avant.motsAvecLettreEn(4, 0, 'J'));
+        assertEquals(0, avant.nombreMots(5));
+
+        assertEquals(2, apres.nombreMots(4));
+        assertEquals(2, apres.motsAvecLettreEn(4, 0, 'J'));
+        assertEquals(1, apres.motsContenant(5, 'E'));
+        assertEquals(1, apres.motsAvecLettreEn(5, 2, 'E'));
+        assertEquals(1, apres.motsAvecLettreEn(5, 0, 'E'));
+        assertEquals(0, apres.motsContenant(5, 'É'));
+    }
+}